@@ -0,0 +1,83 @@
+package com.application.demo.book.benchmark;
+
+import com.application.demo.book.config.JacksonConfiguration;
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.CategoryType;
+import com.application.demo.book.web.rest.base.BaseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization of a {@code GET /api/books} response body, with the modules the application registers, and of the
+ * {@link BaseResponse} envelope alone. Run with {@code -prof gc} to see the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BaseResponseSerializationBenchmark {
+
+    @Param({ "1", "20", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<Book> books;
+
+    @Setup
+    public void setUp() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        // the same defaults as the ObjectMapper auto-configured by Spring Boot
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.hibernate6Module()
+                )
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+        CategoryType categoryType = new CategoryType().title("Fiction").description("Novels and short stories");
+        categoryType.setId(1L);
+        books = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            books.add(
+                new Book()
+                    .id(id)
+                    .author("Author " + id)
+                    .title("Title of the book number " + id)
+                    .description("A description of the book number " + id + ", long enough to look like a real one.")
+                    .copies(3)
+                    .categoryType(categoryType)
+            );
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBooks() throws Exception {
+        return objectMapper.writeValueAsBytes(new BaseResponse<>(true, "Inquiry successfully.", books));
+    }
+
+    @Benchmark
+    public byte[] serializeEnvelope() throws Exception {
+        return objectMapper.writeValueAsBytes(new BaseResponse<>(true, "Updated successfully.", null));
+    }
+}
@@ -0,0 +1,142 @@
+package com.application.demo.book.benchmark;
+
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.CategoryType;
+import com.application.demo.book.repository.BookRepository;
+import com.application.demo.book.repository.CategoryTypeRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reads of {@link BookRepository} against an in-memory H2 database in PostgreSQL mode.
+ * <p>
+ * Only the JPA slice of the application is started: no web server, no Consul, no Liquibase (the schema is created by
+ * Hibernate, so the PostgreSQL-only indexes are missing). Use it to compare the repository code between releases, not
+ * to predict the latency of the production database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookRepositoryBenchmark {
+
+    private static final int BOOKS = 10_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private AnnotationConfigApplicationContext context;
+
+    private BookRepository bookRepository;
+
+    private final List<Long> ids = new ArrayList<>(BOOKS);
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context
+            .getEnvironment()
+            .getPropertySources()
+            .addFirst(
+                new MapPropertySource(
+                    "benchmark",
+                    Map.of(
+                        "spring.datasource.url",
+                        "jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username",
+                        "sa",
+                        "spring.jpa.hibernate.ddl-auto",
+                        "create-drop",
+                        "spring.jpa.open-in-view",
+                        "false",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache",
+                        "false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size",
+                        "25",
+                        "spring.jpa.properties.hibernate.order_inserts",
+                        "true"
+                    )
+                )
+            );
+        context.register(RepositoryConfiguration.class);
+        context.refresh();
+        bookRepository = context.getBean(BookRepository.class);
+        CategoryTypeRepository categoryTypeRepository = context.getBean(CategoryTypeRepository.class);
+
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+                // no auditing in this slice: the audit columns are filled in by hand
+                CategoryType categoryType = new CategoryType().title("Fiction");
+                categoryType.setCreatedBy("benchmark");
+                categoryType = categoryTypeRepository.save(categoryType);
+                List<Book> books = new ArrayList<>(BOOKS);
+                for (int i = 0; i < BOOKS; i++) {
+                    Book book = new Book()
+                        .author("Author " + (i % 500))
+                        .title("Title " + i)
+                        .description("Description of the book " + i)
+                        .categoryType(categoryType);
+                    book.setCreatedBy("benchmark");
+                    books.add(book);
+                }
+                bookRepository.saveAll(books).forEach(book -> ids.add(book.getId()));
+            });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Book> findById() {
+        return bookRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Book> findPageAfter() {
+        return bookRepository.findAllAfter(randomId(), null, null, null, PageRequest.ofSize(PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<Book> findPageAfterByAuthor() {
+        return bookRepository.findAllAfter(0, "author 42", null, null, PageRequest.ofSize(PAGE_SIZE + 1));
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(BOOKS));
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({ DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class })
+    @EntityScan(basePackageClasses = Book.class)
+    @EnableJpaRepositories(basePackageClasses = BookRepository.class)
+    static class RepositoryConfiguration {}
+}
@@ -0,0 +1,124 @@
+package com.application.demo.book.benchmark;
+
+import com.application.demo.book.config.JacksonConfiguration;
+import com.application.demo.book.service.dto.BookDTO;
+import com.application.demo.book.service.dto.CategoryTypeDTO;
+import com.application.demo.book.web.rest.base.BaseResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Writing and reading a {@code GET /api/books} response body as JSON, Smile and CBOR, the formats offered to the other
+ * services, with the modules of the application. The encoded size of each format is reported next to the timings, as the
+ * {@code bytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContentFormatBenchmark {
+
+    @Param({ "json", "smile", "cbor" })
+    public String format;
+
+    @Param({ "20", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+
+    private BaseResponse<List<BookDTO>> response;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        JsonFactory factory =
+            switch (format) {
+                case "smile" -> new SmileFactory();
+                case "cbor" -> new CBORFactory();
+                default -> new JsonFactory();
+            };
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        // the same defaults as the converters of the application
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .factory(factory)
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.hibernate6Module()
+                )
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+        CategoryTypeDTO categoryType = new CategoryTypeDTO();
+        categoryType.setId(1L);
+        categoryType.setTitle("Fiction");
+        categoryType.setDescription("Novels and short stories");
+        List<BookDTO> books = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            BookDTO book = new BookDTO();
+            book.setId(id);
+            book.setAuthor("Author " + id);
+            book.setTitle("Title of the book number " + id);
+            book.setDescription("A description of the book number " + id + ", long enough to look like a real one.");
+            book.setCategoryType(categoryType);
+            books.add(book);
+        }
+        response = new BaseResponse<>(true, "Inquiry successfully.", books);
+        encoded = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] write(EncodedSize encodedSize) throws Exception {
+        byte[] bytes = objectMapper.writeValueAsBytes(response);
+        encodedSize.bytes = bytes.length;
+        return bytes;
+    }
+
+    /**
+     * Parsing into a tree: {@link BaseResponse} has no creator, the calling services read it into their own classes.
+     */
+    @Benchmark
+    public JsonNode read() throws Exception {
+        return objectMapper.readTree(encoded);
+    }
+
+    /**
+     * Size of the last encoded body, reported as a secondary result of {@link #write}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+}
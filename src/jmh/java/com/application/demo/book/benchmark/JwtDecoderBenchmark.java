@@ -0,0 +1,104 @@
+package com.application.demo.book.benchmark;
+
+import static com.application.demo.book.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.application.demo.book.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.application.demo.book.config.SecurityJwtConfiguration;
+import com.application.demo.book.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Decoding of the bearer token of every authenticated request, through {@link SecurityJwtConfiguration#jwtDecoder}:
+ * {@code decodeValidToken} verifies the token on every call, {@code decodeCachedToken} finds it among the decoded tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtDecoderBenchmark {
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    private String validToken;
+
+    private String invalidSignatureToken;
+
+    @Setup
+    public void setUp() {
+        SecurityJwtConfiguration configuration = configuration();
+        jwtDecoder = configuration.jwtDecoder(new SecurityMetersService(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(configuration, "jwtCacheMaximumSize", 10_000L);
+        cachingJwtDecoder = configuration.jwtDecoder(new SecurityMetersService(new SimpleMeterRegistry()));
+        validToken = createToken(configuration);
+        invalidSignatureToken = createToken(configuration());
+    }
+
+    @Benchmark
+    public Jwt decodeValidToken() {
+        return jwtDecoder.decode(validToken);
+    }
+
+    @Benchmark
+    public Jwt decodeCachedToken() {
+        return cachingJwtDecoder.decode(validToken);
+    }
+
+    @Benchmark
+    public Object decodeInvalidSignatureToken() {
+        try {
+            return jwtDecoder.decode(invalidSignatureToken);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    /**
+     * A configuration with its own random secret, as set from {@code jhipster.security.authentication.jwt.base64-secret}.
+     */
+    private static SecurityJwtConfiguration configuration() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        SecurityJwtConfiguration configuration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(configuration, "jwtKey", Base64.getEncoder().encodeToString(secret));
+        return configuration;
+    }
+
+    private static String createToken(SecurityJwtConfiguration configuration) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet
+            .builder()
+            .issuedAt(now)
+            .expiresAt(now.plus(1, ChronoUnit.DAYS))
+            .subject("user")
+            .claim(AUTHORITIES_KEY, "ROLE_USER")
+            .build();
+        JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
+        return configuration.jwtEncoder().encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
+    }
+}
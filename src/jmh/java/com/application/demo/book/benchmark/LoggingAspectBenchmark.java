@@ -0,0 +1,98 @@
+package com.application.demo.book.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.application.demo.book.aop.logging.LoggingAspect;
+import com.application.demo.book.aop.logging.MethodTimingAspect;
+import com.application.demo.book.service.EchoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Overhead of {@link LoggingAspect#logAround} on a service call, with the debug logs of the service disabled, and of
+ * {@link MethodTimingAspect} timing one call in a hundred ({@code sampled}) or all of them ({@code timed}).
+ * {@code direct} is the same call without the aspect, as in production where no aspect is registered by default,
+ * {@code proxied} the call through an AOP proxy without any advice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoggingAspectBenchmark {
+
+    private EchoService direct;
+
+    private EchoService proxied;
+
+    private EchoService logged;
+
+    private EchoService sampled;
+
+    private EchoService timed;
+
+    private long id;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(EchoService.class)).setLevel(Level.INFO);
+        direct = new EchoService();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new EchoService());
+        proxyFactory.setProxyTargetClass(true);
+        proxied = proxyFactory.getProxy();
+
+        AspectJProxyFactory loggedProxyFactory = new AspectJProxyFactory(new EchoService());
+        loggedProxyFactory.setProxyTargetClass(true);
+        loggedProxyFactory.addAspect(new LoggingAspect(new MockEnvironment()));
+        logged = loggedProxyFactory.getProxy();
+
+        sampled = timedProxy(0.01);
+        timed = timedProxy(1.0);
+    }
+
+    private static EchoService timedProxy(double sampleRate) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new EchoService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new MethodTimingAspect(new SimpleMeterRegistry(), sampleRate));
+        return proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public String direct() {
+        return direct.echo("book", id++);
+    }
+
+    @Benchmark
+    public String proxied() {
+        return proxied.echo("book", id++);
+    }
+
+    @Benchmark
+    public String logged() {
+        return logged.echo("book", id++);
+    }
+
+    @Benchmark
+    public String sampled() {
+        return sampled.echo("book", id++);
+    }
+
+    @Benchmark
+    public String timed() {
+        return timed.echo("book", id++);
+    }
+}
@@ -0,0 +1,74 @@
+package com.application.demo.book.benchmark;
+
+import com.application.demo.book.BookApp;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Cold start of the whole application, until it is ready, with and without the lazy initialization of the
+ * {@code fast-startup} profile.
+ * <p>
+ * Every measurement is the first start of a fresh JVM, so class loading and JIT warm-up are included as in a new pod.
+ * The database is an in-memory H2 one whose schema is created by Hibernate, and Consul and Liquibase are disabled: the
+ * time spent waiting for them in production is not measured. To measure the AppCDS archive, pass its JVM options to the
+ * forks, e.g. {@code -jvmArgsAppend "-XX:SharedArchiveFile=build/book.jsa"} on the JMH command line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean lazyInitialization;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context =
+            new SpringApplicationBuilder(BookApp.class)
+                .profiles("dev")
+                .properties(
+                    "server.port=0",
+                    "spring.main.lazy-initialization=" + lazyInitialization,
+                    "spring.cloud.consul.enabled=false",
+                    "spring.cloud.consul.config.enabled=false",
+                    "spring.cloud.consul.discovery.enabled=false",
+                    "spring.devtools.restart.enabled=false",
+                    "spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.driver-class-name=org.h2.Driver",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.jpa.database=h2",
+                    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "spring.jpa.hibernate.ddl-auto=create-drop",
+                    "spring.liquibase.enabled=false",
+                    "logging.level.root=WARN"
+                )
+                .run();
+        return context;
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
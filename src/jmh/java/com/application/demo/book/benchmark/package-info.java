@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks of the application hot paths, run with {@code ./gradlew jmh}.
+ */
+package com.application.demo.book.benchmark;
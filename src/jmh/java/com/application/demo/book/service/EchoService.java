@@ -0,0 +1,15 @@
+package com.application.demo.book.service;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * A service doing nothing, for measuring what the aspects woven around services cost.
+ * Lives in the service package so that the pointcuts of the application match it.
+ */
+@Service
+public class EchoService {
+
+    public String echo(String value, long id) {
+        return value;
+    }
+}
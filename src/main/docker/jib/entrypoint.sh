@@ -36,4 +36,5 @@ file_env 'SPRING_LIQUIBASE_USER'
 file_env 'SPRING_LIQUIBASE_PASSWORD'
 file_env 'JHIPSTER_REGISTRY_PASSWORD'
 
-exec java ${JAVA_OPTS} -noverify -XX:+AlwaysPreTouch -Djava.security.egd=file:/dev/./urandom -cp /app/resources/:/app/classes/:/app/libs/* "com.application.demo.book.BookApp"  "$@"
+# JAVA_CLASSPATH and JAVA_STARTUP_OPTS are set by the fast startup build (gradle/fast-startup.gradle)
+exec java ${JAVA_STARTUP_OPTS} ${JAVA_OPTS} -noverify -XX:+AlwaysPreTouch -Djava.security.egd=file:/dev/./urandom -cp "${JAVA_CLASSPATH:-/app/resources/:/app/classes/:/app/libs/*}" "com.application.demo.book.BookApp"  "$@"
@@ -14,7 +14,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.DefaultProfileUtil;
 import tech.jhipster.config.JHipsterConstants;
@@ -25,6 +27,11 @@ public class BookApp {
 
     private static final Logger log = LoggerFactory.getLogger(BookApp.class);
 
+    /**
+     * System property of the AppCDS training run of the fast startup image build, see {@code gradle/fast-startup.gradle}.
+     */
+    private static final String CDS_TRAINING_RUN = "book.cds.training-run";
+
     private final Environment env;
 
     public BookApp(Environment env) {
@@ -67,6 +74,9 @@ public class BookApp {
     public static void main(String[] args) {
         SpringApplication app = new SpringApplication(BookApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
+        if (Boolean.getBoolean(CDS_TRAINING_RUN)) {
+            app.addListeners(new TrainingRunExit());
+        }
         Environment env = app.run(args).getEnvironment();
         logApplicationStartup(env);
     }
@@ -117,4 +127,17 @@ public class BookApp {
             configServerStatus
         );
     }
+
+    /**
+     * Stops a training run as soon as the application is started: the JVM then writes the classes loaded so far to the
+     * AppCDS archive.
+     */
+    private static class TrainingRunExit implements ApplicationListener<ApplicationReadyEvent> {
+
+        @Override
+        public void onApplicationEvent(ApplicationReadyEvent event) {
+            log.info("AppCDS training run done, exiting");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
 }
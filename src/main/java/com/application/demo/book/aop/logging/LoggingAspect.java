@@ -16,15 +16,26 @@ import tech.jhipster.config.JHipsterConstants;
 /**
  * Aspect for logging execution of service and repository Spring components.
  *
- * By default, it only runs with the "dev" profile.
+ * By default, it only runs with the "dev" profile: in the other profiles the beans are not even proxied for it,
+ * see {@link MethodTimingAspect} for measuring them in production.
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    /**
+     * The logger of each class, looked up once instead of on every call.
+     */
+    private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> type) {
+            return LoggerFactory.getLogger(type);
+        }
+    };
+
+    private final boolean development;
 
     public LoggingAspect(Environment env) {
-        this.env = env;
+        this.development = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
     }
 
     /**
@@ -58,7 +69,7 @@ public class LoggingAspect {
      * @return {@link Logger} associated to the given {@link JoinPoint}.
      */
     private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+        return LOGGERS.get(joinPoint.getSignature().getDeclaringType());
     }
 
     /**
@@ -69,7 +80,7 @@ public class LoggingAspect {
      */
     @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
     public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
+        if (development) {
             logger(joinPoint)
                 .error(
                     "Exception in {}() with cause = '{}' and exception = '{}'",
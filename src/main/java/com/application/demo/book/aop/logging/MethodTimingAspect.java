@@ -0,0 +1,97 @@
+package com.application.demo.book.aop.logging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Aspect recording the execution time of a sample of the calls to the service, repository and Web REST components,
+ * in the {@code method.timed} timers (tagged by class and method, like Micrometer's {@code @Timed}).
+ * <p>
+ * Only one call in {@code 1 / application.method-timing.sample-rate} is timed, the others just go through: the counts of
+ * the timers are sampled too, while their latency distributions are representative.
+ * <p>
+ * The class tag is the component called, not the one declaring the method: {@code findById} of a Spring Data
+ * repository is timed under that repository, not under {@code CrudRepository}.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+    public static final String METER_NAME = "method.timed";
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(MeterRegistry meterRegistry, double sampleRate) {
+        if (!(sampleRate > 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("application.method-timing.sample-rate must be in (0, 1], was " + sampleRate);
+        }
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Advice that times a sample of the calls.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable whatever the method throws.
+     */
+    @Around(
+        "com.application.demo.book.aop.logging.LoggingAspect.applicationPackagePointcut()" +
+        " && com.application.demo.book.aop.logging.LoggingAspect.springBeanPointcut()"
+    )
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer(componentType(joinPoint.getTarget()), joinPoint.getSignature().getName())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The type of the component called: the repository interface behind the JDK proxy of a Spring Data repository,
+     * the user class otherwise.
+     */
+    private static Class<?> componentType(Object target) {
+        if (AopUtils.isJdkDynamicProxy(target)) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(target);
+            if (interfaces.length > 0) {
+                return interfaces[0];
+            }
+        }
+        return ClassUtils.getUserClass(target);
+    }
+
+    private Timer timer(Class<?> type, String method) {
+        return timers.computeIfAbsent(
+            new TimerKey(type, method),
+            key ->
+                Timer
+                    .builder(METER_NAME)
+                    .description("Sampled execution time of the application components")
+                    .tag("class", type.getName())
+                    .tag("method", method)
+                    .register(meterRegistry)
+        );
+    }
+
+    private record TimerKey(Class<?> type, String method) {}
+}
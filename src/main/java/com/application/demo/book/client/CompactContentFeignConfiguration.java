@@ -0,0 +1,34 @@
+package com.application.demo.book.client;
+
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Opt-in Feign client configuration asking for Smile responses instead of JSON, for the calls between our services:
+ * <pre>
+ * &#64;FeignClient(name = "library", configuration = CompactContentFeignConfiguration.class)
+ * </pre>
+ * JSON stays acceptable at a lower preference, so a service without the Smile converter still answers. Responses are read
+ * with the application converters, the Smile one included. Request bodies are only written as Smile for the methods
+ * declaring it, with {@code consumes = CompactContentFeignConfiguration.SMILE_VALUE} on their mapping.
+ * <p>
+ * Not annotated with {@code @Configuration} on purpose: it is only applied to the clients naming it.
+ */
+public class CompactContentFeignConfiguration {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    static final String ACCEPT_VALUE = SMILE_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+
+    @Bean
+    public RequestInterceptor compactContentRequestInterceptor() {
+        return template -> {
+            // an Accept declared on the method (produces) wins
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, ACCEPT_VALUE);
+            }
+        };
+    }
+}
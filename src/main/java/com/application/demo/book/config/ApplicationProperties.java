@@ -1,5 +1,6 @@
 package com.application.demo.book.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +11,583 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final Replica replica = new Replica();
+
+    private final Outbox outbox = new Outbox();
+
+    private final AvailabilityStream availabilityStream = new AvailabilityStream();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Loans loans = new Loans();
+
+    private final Archive archive = new Archive();
+
+    private final Pool pool = new Pool();
+
+    private final Statements statements = new Statements();
+
     // jhipster-needle-application-properties-property
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Replica getReplica() {
+        return replica;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public AvailabilityStream getAvailabilityStream() {
+        return availabilityStream;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Loans getLoans() {
+        return loans;
+    }
+
+    public Archive getArchive() {
+        return archive;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public Statements getStatements() {
+        return statements;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    /**
+     * Sizing of the Hibernate second-level cache regions.
+     */
+    public static class Cache {
+
+        private final Region book = new Region(10_000, 3_600);
+
+        private final Region categoryType = new Region(1_000, 86_400);
+
+        public Region getBook() {
+            return book;
+        }
+
+        public Region getCategoryType() {
+            return categoryType;
+        }
+
+        public static class Region {
+
+            private long maxEntries;
+
+            private long timeToLiveSeconds;
+
+            public Region() {}
+
+            public Region(long maxEntries, long timeToLiveSeconds) {
+                this.maxEntries = maxEntries;
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+
+    /**
+     * Running request handling and {@code @Async} tasks on virtual threads (Java 21 or later), see VirtualThreadsConfiguration.
+     */
+    public static class VirtualThreads {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Sending the read-only transactions to a read replica, see ReplicaDataSourceConfiguration.
+     * The replica connection itself is configured under {@code spring.datasource.replica}.
+     */
+    public static class Replica {
+
+        private boolean enabled = false;
+
+        private Duration maxLag = Duration.ofSeconds(10);
+
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getLagCheckInterval() {
+            return lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(Duration lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+    }
+
+    /**
+     * Relaying of the book registration changes, see RegistrationOutboxRelay.
+     */
+    public static class Outbox {
+
+        private int batchSize = 100;
+
+        private Duration relayInterval = Duration.ofSeconds(1);
+
+        private Sink sink = Sink.LOG;
+
+        private String file = "registration-events.ndjson";
+
+        private Duration retention = Duration.ofDays(7);
+
+        private Duration purgeInterval = Duration.ofHours(1);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getRelayInterval() {
+            return relayInterval;
+        }
+
+        public void setRelayInterval(Duration relayInterval) {
+            this.relayInterval = relayInterval;
+        }
+
+        public Sink getSink() {
+            return sink;
+        }
+
+        public void setSink(Sink sink) {
+            this.sink = sink;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public Duration getPurgeInterval() {
+            return purgeInterval;
+        }
+
+        public void setPurgeInterval(Duration purgeInterval) {
+            this.purgeInterval = purgeInterval;
+        }
+
+        public enum Sink {
+            LOG,
+            FILE,
+            MEMORY,
+            /**
+             * A {@code RegistrationEventSink} bean declared by the application, see OutboxConfiguration.
+             */
+            CUSTOM,
+        }
+    }
+
+    /**
+     * Server-Sent Events of the book availability changes, see BookAvailabilityBroadcaster.
+     */
+    public static class AvailabilityStream {
+
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        private int maxPendingChanges = 1_000;
+
+        private int senderThreads = 4;
+
+        private Duration sendTimeout = Duration.ofSeconds(10);
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getMaxPendingChanges() {
+            return maxPendingChanges;
+        }
+
+        public void setMaxPendingChanges(int maxPendingChanges) {
+            this.maxPendingChanges = maxPendingChanges;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public Duration getSendTimeout() {
+            return sendTimeout;
+        }
+
+        public void setSendTimeout(Duration sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+    }
+
+    /**
+     * Sampled timing of the service, repository and REST calls, see MethodTimingAspect.
+     */
+    public static class MethodTiming {
+
+        private boolean enabled = false;
+
+        private double sampleRate = 0.01;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    /**
+     * Decoded bearer tokens kept until they expire, see CachingJwtDecoder.
+     */
+    public static class JwtCache {
+
+        private long maximumSize = 10_000;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * Loan period of the borrowed books and their overdue notices, see BookLoanService and OverdueLoanNotifier.
+     */
+    public static class Loans {
+
+        private Duration period = Duration.ofDays(14);
+
+        private final OverdueNotices overdueNotices = new OverdueNotices();
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+
+        public OverdueNotices getOverdueNotices() {
+            return overdueNotices;
+        }
+
+        public static class OverdueNotices {
+
+            private boolean enabled = false;
+
+            private Duration checkInterval = Duration.ofMinutes(15);
+
+            private int chunkSize = 100;
+
+            private int maxPerRun = 1_000;
+
+            private double messagesPerSecond = 10;
+
+            private String studentEmailDomain = "students.localhost";
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getCheckInterval() {
+                return checkInterval;
+            }
+
+            public void setCheckInterval(Duration checkInterval) {
+                this.checkInterval = checkInterval;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+
+            public int getMaxPerRun() {
+                return maxPerRun;
+            }
+
+            public void setMaxPerRun(int maxPerRun) {
+                this.maxPerRun = maxPerRun;
+            }
+
+            public double getMessagesPerSecond() {
+                return messagesPerSecond;
+            }
+
+            public void setMessagesPerSecond(double messagesPerSecond) {
+                this.messagesPerSecond = messagesPerSecond;
+            }
+
+            public String getStudentEmailDomain() {
+                return studentEmailDomain;
+            }
+
+            public void setStudentEmailDomain(String studentEmailDomain) {
+                this.studentEmailDomain = studentEmailDomain;
+            }
+        }
+    }
+
+    /**
+     * Monthly partitions of book_registration and archival of the closed registrations, see RegistrationArchiver.
+     */
+    public static class Archive {
+
+        private boolean enabled = false;
+
+        private Duration horizon = Duration.ofDays(365);
+
+        private int batchSize = 1_000;
+
+        private Duration interval = Duration.ofHours(6);
+
+        private int partitionsAhead = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getHorizon() {
+            return horizon;
+        }
+
+        public void setHorizon(Duration horizon) {
+            this.horizon = horizon;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public int getPartitionsAhead() {
+            return partitionsAhead;
+        }
+
+        public void setPartitionsAhead(int partitionsAhead) {
+            this.partitionsAhead = partitionsAhead;
+        }
+    }
+
+    /**
+     * Sizing of the primary Hikari pool within bounds, from its saturation, see HikariPoolAutotuner.
+     */
+    public static class Pool {
+
+        private boolean autotune = false;
+
+        private int minSize = 10;
+
+        private int maxSize = 40;
+
+        private Duration maxAcquireTime = Duration.ofMillis(20);
+
+        private Duration checkInterval = Duration.ofSeconds(10);
+
+        private Duration shrinkAfter = Duration.ofMinutes(5);
+
+        public boolean isAutotune() {
+            return autotune;
+        }
+
+        public void setAutotune(boolean autotune) {
+            this.autotune = autotune;
+        }
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(int minSize) {
+            this.minSize = minSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getMaxAcquireTime() {
+            return maxAcquireTime;
+        }
+
+        public void setMaxAcquireTime(Duration maxAcquireTime) {
+            this.maxAcquireTime = maxAcquireTime;
+        }
+
+        public Duration getCheckInterval() {
+            return checkInterval;
+        }
+
+        public void setCheckInterval(Duration checkInterval) {
+            this.checkInterval = checkInterval;
+        }
+
+        public Duration getShrinkAfter() {
+            return shrinkAfter;
+        }
+
+        public void setShrinkAfter(Duration shrinkAfter) {
+            this.shrinkAfter = shrinkAfter;
+        }
+    }
+
+    /**
+     * Counting and timing of the SQL statements of the REST requests, see StatementMetricsConfiguration.
+     */
+    public static class Statements {
+
+        private boolean enabled = true;
+
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -9,6 +9,7 @@ import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -21,18 +22,29 @@ import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 @Profile("!testdev & !testprod")
 public class AsyncConfiguration implements AsyncConfigurer {
 
+    private static final String AVAILABILITY_STREAM_THREAD_NAME_PREFIX = "book-availability-";
+
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, ApplicationProperties applicationProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         log.debug("Creating Async Task Executor");
+        if (applicationProperties.getVirtualThreads().isEnabled()) {
+            // one virtual thread per task: the pool sizes and the queue capacity do not apply
+            return new ExceptionHandlingAsyncTaskExecutor(
+                new SimpleAsyncTaskExecutor(VirtualThreadsConfiguration.virtualThreadFactory(taskExecutionProperties.getThreadNamePrefix()))
+            );
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
@@ -41,6 +53,26 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Writes the book availability streams, see BookAvailabilityBroadcaster. A write blocks while its client does not
+     * read, so the streams get threads of their own instead of delaying the {@code @Async} tasks.
+     */
+    @Bean(name = "availabilityStreamExecutor")
+    public Executor availabilityStreamExecutor() {
+        if (applicationProperties.getVirtualThreads().isEnabled()) {
+            // one virtual thread per write: a client not reading only holds its own
+            return new SimpleAsyncTaskExecutor(
+                VirtualThreadsConfiguration.virtualThreadFactory(AVAILABILITY_STREAM_THREAD_NAME_PREFIX)
+            );
+        }
+        int threads = applicationProperties.getAvailabilityStream().getSenderThreads();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix(AVAILABILITY_STREAM_THREAD_NAME_PREFIX);
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,66 @@
+package com.application.demo.book.config;
+
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.CategoryType;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache, backed by Caffeine through JCache.
+ * <p>
+ * Each entity region is created here with its own size and time to live, and with statistics enabled:
+ * Spring Boot binds every cache of the cache manager to Micrometer ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions}).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
+    private final ApplicationProperties.Cache cacheProperties;
+
+    public CacheConfiguration(ApplicationProperties applicationProperties) {
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, Book.class.getName(), cacheProperties.getBook());
+            createCache(cm, CategoryType.class.getName(), cacheProperties.getCategoryType());
+            // jhipster-needle-caffeine-add-entry
+        };
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, ApplicationProperties.Cache.Region region) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            log.debug("Creating cache region {} with {} entries for {}s", cacheName, region.getMaxEntries(), region.getTimeToLiveSeconds());
+            cm.createCache(cacheName, regionConfiguration(region));
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(ApplicationProperties.Cache.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(region.getTimeToLiveSeconds())));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
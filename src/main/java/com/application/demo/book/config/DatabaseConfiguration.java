@@ -1,7 +1,13 @@
 package com.application.demo.book.config;
 
 import com.zaxxer.hikari.HikariDataSource;
-import javax.sql.DataSource;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
@@ -18,6 +24,11 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableTransactionManagement
 public class DatabaseConfiguration {
 
+    private static final double[] ACQUIRE_BUCKETS = Stream
+        .of(1, 5, 10, 25, 50, 100, 250, 500, 1_000, 5_000)
+        .mapToDouble(millis -> Duration.ofMillis(millis).toNanos())
+        .toArray();
+
     @Bean(name = "bookDataSource")
     @Primary
     @ConfigurationProperties("spring.datasource")
@@ -25,11 +36,43 @@ public class DatabaseConfiguration {
         return new DataSourceProperties();
     }
 
-    // creates data-source bean
+    // creates data-source bean (the primary pool; wrapped by a routing data-source when a replica is configured, see ReplicaDataSourceConfiguration)
     @Bean
-    @Primary
     @ConfigurationProperties("spring.datasource.hikari")
-    public DataSource digxDataSource() {
+    public HikariDataSource digxDataSource() {
         return dataSource().initializeDataSourceBuilder().type(HikariDataSource.class).build();
     }
+
+    @Bean
+    public HikariPoolAutotuner hikariPoolHealthIndicator(
+        @Qualifier("digxDataSource") HikariDataSource primary,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new HikariPoolAutotuner(primary, applicationProperties.getPool(), meterRegistry);
+    }
+
+    /**
+     * Publishes the time spent waiting for a connection as a histogram, with buckets from a free connection (1 ms) to
+     * requests queued behind the others, so that the wait can be told from the query time of the {@code http.server.requests}.
+     * <p>
+     * Only these buckets are published, not the percentiles histogram and its hundreds of default buckets per pool; this
+     * is the one filter configuring the distribution of {@code hikaricp.connections.acquire}.
+     */
+    @Bean
+    public MeterFilter hikariAcquireMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals(HikariPoolAutotuner.ACQUIRE_METER_NAME)) {
+                    return DistributionStatisticConfig
+                        .builder()
+                        .serviceLevelObjectives(ACQUIRE_BUCKETS)
+                        .build()
+                        .merge(config);
+                }
+                return config;
+            }
+        };
+    }
 }
@@ -0,0 +1,24 @@
+package com.application.demo.book.config;
+
+import javax.sql.DataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * Beans created at startup even with {@code spring.main.lazy-initialization} (the {@code fast-startup} profile).
+ * <p>
+ * Connecting to the database, building the Hibernate metamodel and starting the Liquibase migration belong to startup,
+ * so that a ready instance serves its first request without them and a broken configuration fails the deployment.
+ * The beans with {@code @Scheduled} methods are kept eager by Spring Boot itself.
+ */
+@Configuration
+public class FastStartupConfiguration {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerPersistenceBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, AbstractEntityManagerFactoryBean.class, SpringLiquibase.class);
+    }
+}
@@ -0,0 +1,169 @@
+package com.application.demo.book.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically checks whether the primary Hikari pool is saturated, and when {@code application.pool.autotune} is on,
+ * resizes it within {@code application.pool.min-size} and {@code application.pool.max-size}.
+ * <p>
+ * The pool is saturated when threads are waiting for a connection ({@link HikariPoolMXBean#getThreadsAwaitingConnection()})
+ * or when the mean time to acquire one since the previous check, read from the {@code hikaricp.connections.acquire} timer,
+ * is above {@code application.pool.max-acquire-time}. A saturated pool grows by the number of waiting threads, at least one
+ * connection; a pool not saturated for {@code application.pool.shrink-after} shrinks to the most connections used meanwhile,
+ * plus one. Its health is {@link #DEGRADED} while it is saturated at its largest size: requests queue for connections.
+ */
+public class HikariPoolAutotuner implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "The pool is saturated at its maximum size");
+
+    public static final String ACQUIRE_METER_NAME = "hikaricp.connections.acquire";
+    public static final String SATURATED_METER_NAME = "datasource.pool.saturated";
+    public static final String RESIZES_METER_NAME = "datasource.pool.resizes";
+
+    private final Logger log = LoggerFactory.getLogger(HikariPoolAutotuner.class);
+
+    private final HikariDataSource dataSource;
+
+    private final ApplicationProperties.Pool properties;
+
+    private final MeterRegistry registry;
+
+    private final long quietChecksBeforeShrink;
+
+    private final Counter grown;
+
+    private final Counter shrunk;
+
+    private long lastAcquireCount;
+
+    private double lastAcquireNanos;
+
+    private long quietChecks;
+
+    private int peakActive;
+
+    private volatile boolean saturated = false;
+
+    private volatile double meanAcquireMillis = Double.NaN;
+
+    private volatile int threadsAwaiting;
+
+    public HikariPoolAutotuner(HikariDataSource dataSource, ApplicationProperties.Pool properties, MeterRegistry registry) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.registry = registry;
+        this.quietChecksBeforeShrink = Math.max(1, properties.getShrinkAfter().toMillis() / properties.getCheckInterval().toMillis());
+        this.grown = resizes(registry, dataSource.getPoolName(), "grow");
+        this.shrunk = resizes(registry, dataSource.getPoolName(), "shrink");
+        Gauge
+            .builder(SATURATED_METER_NAME, this, autotuner -> autotuner.saturated ? 1 : 0)
+            .tag("pool", String.valueOf(dataSource.getPoolName()))
+            .register(registry);
+    }
+
+    private static Counter resizes(MeterRegistry registry, String poolName, String direction) {
+        return Counter.builder(RESIZES_METER_NAME).tag("pool", String.valueOf(poolName)).tag("direction", direction).register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.pool.check-interval:PT10S}")
+    public void check() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            // the pool starts with the first connection
+            return;
+        }
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        threadsAwaiting = pool.getThreadsAwaitingConnection();
+        meanAcquireMillis = meanAcquireMillisSinceLastCheck();
+        saturated = threadsAwaiting > 0 || meanAcquireMillis > properties.getMaxAcquireTime().toMillis();
+        if (!properties.isAutotune()) {
+            return;
+        }
+        int size = config.getMaximumPoolSize();
+        // sampled: a peak between two checks is only seen through the waiting threads it causes
+        peakActive = Math.max(peakActive, pool.getActiveConnections());
+        if (saturated) {
+            quietChecks = 0;
+            resize(config, size, Math.max(size, Math.min(properties.getMaxSize(), size + Math.max(1, threadsAwaiting))));
+        } else if (++quietChecks >= quietChecksBeforeShrink) {
+            quietChecks = 0;
+            resize(config, size, Math.max(properties.getMinSize(), Math.min(size, peakActive + 1)));
+        } else if (size < properties.getMinSize() || size > properties.getMaxSize()) {
+            resize(config, size, Math.min(properties.getMaxSize(), Math.max(properties.getMinSize(), size)));
+        }
+    }
+
+    private double meanAcquireMillisSinceLastCheck() {
+        Timer acquire = registry.find(ACQUIRE_METER_NAME).tag("pool", String.valueOf(dataSource.getPoolName())).timer();
+        if (acquire == null) {
+            return Double.NaN;
+        }
+        long count = acquire.count();
+        double nanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        double mean = count > lastAcquireCount ? (nanos - lastAcquireNanos) / (count - lastAcquireCount) / 1_000_000 : 0;
+        lastAcquireCount = count;
+        lastAcquireNanos = nanos;
+        return mean;
+    }
+
+    private void resize(HikariConfigMXBean config, int size, int newSize) {
+        peakActive = 0;
+        if (newSize == size) {
+            return;
+        }
+        log.info(
+            "Resizing the {} pool from {} to {} connections ({} threads waiting, {} ms mean acquire time)",
+            config.getPoolName(),
+            size,
+            newSize,
+            threadsAwaiting,
+            meanAcquireMillis
+        );
+        if (newSize < size && config.getMinimumIdle() > newSize) {
+            config.setMinimumIdle(newSize);
+        }
+        config.setMaximumPoolSize(newSize);
+        (newSize > size ? grown : shrunk).increment();
+    }
+
+    boolean isSaturated() {
+        return saturated;
+    }
+
+    @Override
+    public Health health() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return Health.unknown().withDetail("pool", String.valueOf(dataSource.getPoolName())).build();
+        }
+        int size = dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+        boolean atLargest = !properties.isAutotune() || size >= properties.getMaxSize();
+        Health.Builder health = (saturated && atLargest ? Health.status(DEGRADED) : Health.up())
+            .withDetail("pool", String.valueOf(dataSource.getPoolName()))
+            .withDetail("maximumPoolSize", size)
+            .withDetail("activeConnections", pool.getActiveConnections())
+            .withDetail("idleConnections", pool.getIdleConnections())
+            .withDetail("threadsAwaitingConnection", threadsAwaiting)
+            .withDetail("autotune", properties.isAutotune());
+        if (!Double.isNaN(meanAcquireMillis)) {
+            health.withDetail("meanAcquireMillis", meanAcquireMillis);
+        }
+        if (properties.isAutotune()) {
+            health.withDetail("minSize", properties.getMinSize()).withDetail("maxSize", properties.getMaxSize());
+        }
+        return health.build();
+    }
+}
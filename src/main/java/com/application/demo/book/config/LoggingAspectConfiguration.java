@@ -1,6 +1,9 @@
 package com.application.demo.book.config;
 
 import com.application.demo.book.aop.logging.LoggingAspect;
+import com.application.demo.book.aop.logging.MethodTimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -14,4 +17,10 @@ public class LoggingAspectConfiguration {
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true")
+    public MethodTimingAspect methodTimingAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new MethodTimingAspect(meterRegistry, applicationProperties.getMethodTiming().getSampleRate());
+    }
 }
@@ -0,0 +1,141 @@
+package com.application.demo.book.config;
+
+import com.application.demo.book.domain.AbstractAuditingEntity;
+import com.application.demo.book.domain.ArchivedBookRegistration;
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.domain.CategoryType;
+import com.application.demo.book.domain.CategoryTypeRegistrationCount;
+import com.application.demo.book.domain.DailyBorrowCount;
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import com.application.demo.book.domain.RegistrationStatusCount;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.domain.enumeration.RegistrationEventType;
+import com.application.demo.book.management.StatementStatistics;
+import java.util.List;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+/**
+ * Reachability hints of the GraalVM native image build (see {@code gradle/native.gradle}), for what the AOT processing
+ * cannot find by itself.
+ * <p>
+ * The hints of Spring, Hibernate, Liquibase and Caffeine are provided by those projects or by the GraalVM reachability
+ * metadata repository; the JWT decoder of {@link SecurityJwtConfiguration} only uses Nimbus and the JCA {@code Mac} of
+ * its algorithm, which native-image registers on its own. The hints are only read at build time: this configuration
+ * declares no bean.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfiguration.BookRuntimeHints.class)
+public class NativeImageConfiguration {
+
+    static final List<Class<?>> PERSISTENT_TYPES = List.of(
+        AbstractAuditingEntity.class,
+        Book.class,
+        BookRegistration.class,
+        ArchivedBookRegistration.class,
+        CategoryType.class,
+        CategoryTypeRegistrationCount.class,
+        DailyBorrowCount.class,
+        RegistrationOutboxEvent.class,
+        RegistrationStatusCount.class,
+        BookStatus.class,
+        RegistrationEventType.class
+    );
+
+    static final String BASE_PACKAGE = "com.application.demo.book";
+
+    static final String CLIENT_PACKAGE = BASE_PACKAGE + ".client";
+
+    static class BookRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            registerPersistentTypes(hints);
+            registerFeignClients(hints, classLoader);
+            registerResources(hints);
+            // created by Hibernate from its name, see StatementMetricsConfiguration
+            hints
+                .reflection()
+                .registerType(StatementStatistics.TimingListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        /**
+         * The entities are read and written through their fields, and the {@code _} metamodel classes generated for them
+         * are filled in by Hibernate when it starts.
+         */
+        private static void registerPersistentTypes(RuntimeHints hints) {
+            for (Class<?> type : PERSISTENT_TYPES) {
+                hints
+                    .reflection()
+                    .registerType(
+                        type,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS
+                    );
+                hints.reflection().registerType(TypeReference.of(type.getName() + "_"), MemberCategory.DECLARED_FIELDS);
+            }
+        }
+
+        /**
+         * The {@code @FeignClient} interfaces are implemented by JDK proxies, and the interceptors and configurations of
+         * the client package are created by the Feign client contexts.
+         */
+        private static void registerFeignClients(RuntimeHints hints, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider feignClients = scanner(classLoader, true);
+            feignClients.addIncludeFilter(new AnnotationTypeFilter(FeignClient.class));
+            for (BeanDefinition client : feignClients.findCandidateComponents(BASE_PACKAGE)) {
+                hints.proxies().registerJdkProxy(TypeReference.of(client.getBeanClassName()));
+            }
+            ClassPathScanningCandidateComponentProvider clientTypes = scanner(classLoader, false);
+            clientTypes.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+            for (BeanDefinition type : clientTypes.findCandidateComponents(CLIENT_PACKAGE)) {
+                hints
+                    .reflection()
+                    .registerType(
+                        TypeReference.of(type.getBeanClassName()),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS
+                    );
+            }
+        }
+
+        /**
+         * The Liquibase changelogs and data, the message bundles and the Spring Cloud bootstrap configuration live
+         * outside of the locations Spring Boot registers.
+         */
+        private static void registerResources(RuntimeHints hints) {
+            hints
+                .resources()
+                .registerPattern("config/liquibase/master.xml")
+                .registerPattern("config/liquibase/changelog/*.xml")
+                .registerPattern("config/liquibase/fake-data/*.csv")
+                .registerPattern("i18n/*.properties")
+                .registerPattern("config/bootstrap*.yml");
+        }
+
+        private static ClassPathScanningCandidateComponentProvider scanner(ClassLoader classLoader, boolean interfaces) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    AnnotationMetadata metadata = beanDefinition.getMetadata();
+                    return metadata.isIndependent() && (interfaces ? metadata.isInterface() : metadata.isConcrete());
+                }
+            };
+            scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+            return scanner;
+        }
+    }
+}
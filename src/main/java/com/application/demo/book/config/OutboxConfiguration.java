@@ -0,0 +1,42 @@
+package com.application.demo.book.config;
+
+import com.application.demo.book.service.outbox.FileRegistrationEventSink;
+import com.application.demo.book.service.outbox.InMemoryRegistrationEventSink;
+import com.application.demo.book.service.outbox.LoggingRegistrationEventSink;
+import com.application.demo.book.service.outbox.RegistrationEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Chooses where the registration outbox is relayed to, with {@code application.outbox.sink}: each built-in
+ * {@link RegistrationEventSink} is only declared when the property names it.
+ * <p>
+ * With {@code application.outbox.sink=custom}, none is declared, and another {@link RegistrationEventSink} bean (a message
+ * broker client, for instance) must be.
+ */
+@Configuration
+public class OutboxConfiguration {
+
+    private static final String SINK_PROPERTY = "application.outbox.sink";
+
+    @Bean
+    @ConditionalOnProperty(name = SINK_PROPERTY, havingValue = "log", matchIfMissing = true)
+    public RegistrationEventSink loggingRegistrationEventSink() {
+        return new LoggingRegistrationEventSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = SINK_PROPERTY, havingValue = "file")
+    public RegistrationEventSink fileRegistrationEventSink(ApplicationProperties applicationProperties, ObjectMapper objectMapper) {
+        return new FileRegistrationEventSink(Path.of(applicationProperties.getOutbox().getFile()), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = SINK_PROPERTY, havingValue = "memory")
+    public RegistrationEventSink inMemoryRegistrationEventSink() {
+        return new InMemoryRegistrationEventSink();
+    }
+}
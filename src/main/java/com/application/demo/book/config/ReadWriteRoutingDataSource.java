@@ -0,0 +1,108 @@
+package com.application.demo.book.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes the connections of read-only transactions to the replica pool, and all the others to the primary one.
+ * <p>
+ * Meant to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the connection is then
+ * only taken on the first statement, once the transaction is known to be read-only. Reads go to the primary instead
+ * while the {@link ReplicaLagMonitor} finds the replica too far behind, or when the replica pool cannot give a connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String CONNECTIONS_METER_NAME = "datasource.routing.connections";
+    public static final String FALLBACKS_METER_NAME = "datasource.routing.fallbacks";
+
+    private final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final Counter primaryConnections;
+
+    private final Counter replicaConnections;
+
+    private final Counter lagFallbacks;
+
+    private final Counter errorFallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = connectionsCounter(Route.PRIMARY).register(registry);
+        this.replicaConnections = connectionsCounter(Route.REPLICA).register(registry);
+        this.lagFallbacks = fallbacksCounter("lag").register(registry);
+        this.errorFallbacks = fallbacksCounter("error").register(registry);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    private static Counter.Builder connectionsCounter(Route route) {
+        return Counter
+            .builder(CONNECTIONS_METER_NAME)
+            .description("Connections handed out by the read/write routing data source, by pool.")
+            .tag("pool", route.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static Counter.Builder fallbacksCounter(String cause) {
+        return Counter
+            .builder(FALLBACKS_METER_NAME)
+            .description("Read-only transactions sent to the primary because the replica was not usable.")
+            .tag("cause", cause);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaUsable()
+            ? Route.REPLICA
+            : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primaryConnection();
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            lagFallbacks.increment();
+            return primaryConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            log.warn("No replica connection, reading from the primary until the next lag check: {}", e.getMessage());
+            lagMonitor.markUnusable();
+            errorFallbacks.increment();
+            return primaryConnection();
+        }
+    }
+
+    private Connection primaryConnection() throws SQLException {
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    enum Route {
+        PRIMARY,
+        REPLICA,
+    }
+}
@@ -0,0 +1,78 @@
+package com.application.demo.book.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Second Hikari pool on a PostgreSQL read replica, used by the {@code @Transactional(readOnly = true)} methods.
+ * <p>
+ * The replica is configured like the primary, under {@code spring.datasource.replica} and
+ * {@code spring.datasource.replica.hikari}; both pools publish the {@code hikaricp.*} meters, tagged by pool name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean(name = "replicaDataSourceProperties")
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setPoolName("HikariReplica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaHealthIndicator(
+        @Qualifier("replicaDataSource") DataSource replica,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replica, applicationProperties.getReplica().getMaxLag(), meterRegistry);
+    }
+
+    /**
+     * The data source of JPA, Liquibase and everything else. The routing happens when the first statement of a transaction
+     * needs a connection, so the default connection settings are given here instead of being read from a connection at startup.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("digxDataSource") DataSource primary,
+        @Qualifier("replicaDataSource") DataSource replica,
+        ReplicaLagMonitor replicaLagMonitor,
+        MeterRegistry meterRegistry
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+        dataSource.setDefaultAutoCommit(false);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    /**
+     * Keeps the {@code db} health, and so the readiness, on the primary only: reads fall back to it when the replica is down.
+     */
+    @Bean
+    public DataSourceHealthIndicator dbHealthIndicator(@Qualifier("digxDataSource") DataSource primary) {
+        return new DataSourceHealthIndicator(primary);
+    }
+}
@@ -0,0 +1,101 @@
+package com.application.demo.book.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically measures how far the PostgreSQL replica is behind the primary, and tells the
+ * {@link ReadWriteRoutingDataSource} whether reads may go to it.
+ * <p>
+ * The replica is not used until a first check found it within {@code application.replica.max-lag}.
+ * Its health stays {@code UP} while it is not usable, as the reads are then served by the primary.
+ */
+public class ReplicaLagMonitor implements HealthIndicator {
+
+    public static final String LAG_METER_NAME = "datasource.replica.lag";
+    public static final String USABLE_METER_NAME = "datasource.replica.usable";
+
+    /**
+     * The time since the last replayed transaction, or zero when everything received is replayed (an idle primary
+     * sends no transactions, so that time alone would keep growing) or when the database is not a standby.
+     */
+    private static final String LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable = false;
+
+    private volatile double lagSeconds = Double.NaN;
+
+    private volatile String lastError;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry registry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        Gauge.builder(LAG_METER_NAME, this, monitor -> monitor.lagSeconds).baseUnit("seconds").register(registry);
+        Gauge.builder(USABLE_METER_NAME, this, monitor -> monitor.replicaUsable ? 1 : 0).register(registry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Stops the reads on the replica until the next check, after it failed to give a connection.
+     */
+    void markUnusable() {
+        replicaUsable = false;
+    }
+
+    @Scheduled(fixedDelayString = "${application.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            lastError = null;
+            boolean usable = lagSeconds * 1000 <= maxLag.toMillis();
+            if (usable != replicaUsable) {
+                log.info(
+                    "Replica is {} behind the primary: reads go to the {}",
+                    Duration.ofMillis((long) (lagSeconds * 1000)),
+                    usable ? "replica" : "primary"
+                );
+            }
+            replicaUsable = usable;
+        } catch (DataAccessException e) {
+            if (replicaUsable || lastError == null) {
+                log.warn("Replica lag check failed, reads go to the primary: {}", e.getMessage());
+            }
+            lagSeconds = Double.NaN;
+            lastError = e.getMessage();
+            replicaUsable = false;
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up().withDetail("usable", replicaUsable).withDetail("maxLag", maxLag.toString());
+        if (!Double.isNaN(lagSeconds)) {
+            health.withDetail("lagSeconds", lagSeconds);
+        }
+        if (lastError != null) {
+            health.withDetail("error", lastError);
+        }
+        return health.build();
+    }
+}
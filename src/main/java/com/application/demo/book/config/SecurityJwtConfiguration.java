@@ -4,6 +4,7 @@ import static com.application.demo.book.security.SecurityUtils.AUTHORITIES_KEY;
 import static com.application.demo.book.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.application.demo.book.management.SecurityMetersService;
+import com.application.demo.book.security.jwt.CachingJwtDecoder;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import javax.crypto.SecretKey;
@@ -24,25 +25,15 @@ public class SecurityJwtConfiguration {
     @Value("${jhipster.security.authentication.jwt.base64-secret}")
     private String jwtKey;
 
+    // read here rather than from ApplicationProperties, which the security test slices do not load
+    @Value("${application.jwt-cache.maximum-size:10000}")
+    private long jwtCacheMaximumSize;
+
     @Bean
     public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
-            try {
-                return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (e.getMessage().contains("Invalid JWT serialization")) {
-                    metersService.trackTokenMalformed();
-                } else if (e.getMessage().contains("Invalid unsecured/JWS/JWE")) {
-                    metersService.trackTokenMalformed();
-                }
-                throw e;
-            }
-        };
+        jwtDecoder.setJwtValidator(CachingJwtDecoder.timestampValidator());
+        return new CachingJwtDecoder(jwtDecoder, metersService, jwtCacheMaximumSize);
     }
 
     @Bean
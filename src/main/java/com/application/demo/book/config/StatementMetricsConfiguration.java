@@ -0,0 +1,48 @@
+package com.application.demo.book.config;
+
+import com.application.demo.book.management.StatementMetricsInterceptor;
+import com.application.demo.book.management.StatementStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Counting and timing of the SQL statements of each REST request, and logging of the slow ones, see {@link StatementStatistics}.
+ * <p>
+ * Unlike {@code hibernate.generate_statistics}, this only keeps two counters on the current thread: it is on by default,
+ * and disabled with {@code application.statements.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.statements", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementMetricsConfiguration implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties applicationProperties;
+
+    public StatementMetricsConfiguration(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.meterRegistry = meterRegistry;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementStatisticsHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(
+                AvailableSettings.STATEMENT_INSPECTOR,
+                new StatementStatistics.Inspector(applicationProperties.getStatements().getSlowThreshold())
+            );
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, StatementStatistics.TimingListener.class.getName());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StatementMetricsInterceptor(meterRegistry));
+    }
+}
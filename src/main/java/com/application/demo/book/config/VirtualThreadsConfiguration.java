@@ -0,0 +1,86 @@
+package com.application.demo.book.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Opt-in virtual threads, enabled with {@code application.virtual-threads.enabled=true} on Java 21 or later.
+ * <p>
+ * Servlet requests are dispatched by Undertow to a new virtual thread each instead of its fixed pool of worker threads,
+ * and {@code @Async} tasks run the same way (see {@link AsyncConfiguration}). A request blocked on JDBC then no longer
+ * holds a platform thread: the Hikari pool becomes the only bound on the concurrent database work, so size
+ * {@code spring.datasource.hikari.maximum-pool-size} for the database, not for the number of concurrent requests, and
+ * watch the {@code hikaricp.connections.pending} gauge, the {@code hikaricp.connections.acquire} histogram of
+ * {@link DatabaseConfiguration} and the {@code hikaricp.connections.usage} histogram published here.
+ * <p>
+ * The application is compiled for Java 17, so the virtual thread builder is looked up reflectively.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfiguration {
+
+    private static final String REQUEST_THREAD_NAME_PREFIX = "book-request-";
+
+    private static final String USAGE_METER_NAME = "hikaricp.connections.usage";
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    @Bean
+    public UndertowDeploymentInfoCustomizer virtualThreadsUndertowDeploymentInfoCustomizer() {
+        log.info("Handling requests on virtual threads");
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(virtualThreadFactory(REQUEST_THREAD_NAME_PREFIX));
+        return deploymentInfo -> {
+            deploymentInfo.setExecutor(executor);
+            deploymentInfo.setAsyncExecutor(executor);
+        };
+    }
+
+    /**
+     * The connections are what requests wait for now: publish the distribution of the time they are held, not only its
+     * mean, between 1 ms and the 30 s Hikari connection timeout.
+     */
+    @Bean
+    public MeterFilter virtualThreadsHikariMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals(USAGE_METER_NAME)) {
+                    return DistributionStatisticConfig
+                        .builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .build()
+                        .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+
+    /**
+     * A factory of virtual threads named {@code prefix} followed by a counter.
+     *
+     * @throws IllegalStateException when running on a Java version without virtual threads.
+     */
+    static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("application.virtual-threads.enabled requires Java 21 or later", e);
+        }
+    }
+}
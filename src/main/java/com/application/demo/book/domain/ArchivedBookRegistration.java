@@ -0,0 +1,128 @@
+package com.application.demo.book.domain;
+
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A closed {@link BookRegistration}, moved out of {@code book_registration} once past {@code application.archive.horizon}.
+ */
+@Entity
+@Immutable
+@Table(name = "book_registration_archive")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ArchivedBookRegistration implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "student_id")
+    private String studentId;
+
+    @Column(name = "request_date")
+    private ZonedDateTime requestDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "request_status")
+    private BookStatus requestStatus;
+
+    @Column(name = "return_date")
+    private ZonedDateTime returnDate;
+
+    @Column(name = "remarks", length = 500)
+    private String remarks;
+
+    @Column(name = "due_date")
+    private ZonedDateTime dueDate;
+
+    @Column(name = "overdue_notified_at")
+    private Instant overdueNotifiedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "bookRegistrations", "categoryType" }, allowSetters = true)
+    private Book book;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getStudentId() {
+        return this.studentId;
+    }
+
+    public ZonedDateTime getRequestDate() {
+        return this.requestDate;
+    }
+
+    public BookStatus getRequestStatus() {
+        return this.requestStatus;
+    }
+
+    public ZonedDateTime getReturnDate() {
+        return this.returnDate;
+    }
+
+    public String getRemarks() {
+        return this.remarks;
+    }
+
+    public ZonedDateTime getDueDate() {
+        return this.dueDate;
+    }
+
+    public Instant getOverdueNotifiedAt() {
+        return this.overdueNotifiedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return this.archivedAt;
+    }
+
+    public Book getBook() {
+        return this.book;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArchivedBookRegistration)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((ArchivedBookRegistration) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ArchivedBookRegistration{" +
+            "id=" + getId() +
+            ", studentId='" + getStudentId() + "'" +
+            ", requestDate='" + getRequestDate() + "'" +
+            ", requestStatus='" + getRequestStatus() + "'" +
+            ", returnDate='" + getReturnDate() + "'" +
+            ", remarks='" + getRemarks() + "'" +
+            ", dueDate='" + getDueDate() + "'" +
+            ", archivedAt='" + getArchivedAt() + "'" +
+            "}";
+    }
+}
@@ -1,19 +1,23 @@
 package com.application.demo.book.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Book.
  */
 @Entity
 @Table(name = "book")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Book implements Serializable {
+public class Book extends AbstractAuditingEntity<Long> implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -23,6 +27,14 @@ public class Book implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    /**
+     * Incremented by every change of the row, including the counter updates; the ETag of the entity is built from it.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Column(name = "author", nullable = false)
     private String author;
@@ -35,6 +47,22 @@ public class Book implements Serializable {
     @Column(name = "description", length = 500)
     private String description;
 
+    /**
+     * Number of copies the library owns, one when not given. Changed through {@code BookLoanService} only, together with
+     * {@code available}, on the book read with its row locked.
+     */
+    @Min(value = 0)
+    @Column(name = "copies", nullable = false)
+    private Integer copies;
+
+    /**
+     * Number of copies on the shelf, maintained by {@code BookLoanService} when copies are borrowed and returned, which
+     * also publishes each change to the availability stream.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "available", nullable = false)
+    private Integer available;
+
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "book")
     @JsonIgnoreProperties(value = { "book" }, allowSetters = true)
     private Set<BookRegistration> bookRegistrations = new HashSet<>();
@@ -58,6 +86,14 @@ public class Book implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getAuthor() {
         return this.author;
     }
@@ -97,6 +133,36 @@ public class Book implements Serializable {
         this.description = description;
     }
 
+    public Integer getCopies() {
+        return this.copies;
+    }
+
+    public Book copies(Integer copies) {
+        this.setCopies(copies);
+        return this;
+    }
+
+    public void setCopies(Integer copies) {
+        this.copies = copies;
+    }
+
+    public Integer getAvailable() {
+        return this.available;
+    }
+
+    public void setAvailable(Integer available) {
+        this.available = available;
+    }
+
+    @PrePersist
+    private void initCopies() {
+        if (this.copies == null) {
+            this.copies = 1;
+        }
+        // a new book has all of its copies on the shelf
+        this.available = this.copies;
+    }
+
     public Set<BookRegistration> getBookRegistrations() {
         return this.bookRegistrations;
     }
@@ -168,6 +234,8 @@ public class Book implements Serializable {
             ", author='" + getAuthor() + "'" +
             ", title='" + getTitle() + "'" +
             ", description='" + getDescription() + "'" +
+            ", copies=" + getCopies() +
+            ", available=" + getAvailable() +
             "}";
     }
 }
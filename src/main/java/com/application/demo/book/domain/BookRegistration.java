@@ -2,10 +2,12 @@ package com.application.demo.book.domain;
 
 import com.application.demo.book.domain.enumeration.BookStatus;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 
 /**
@@ -28,7 +30,11 @@ public class BookRegistration implements Serializable {
     @Column(name = "student_id")
     private String studentId;
 
-    @Column(name = "request_date")
+    /**
+     * The partition key of {@code book_registration}, part of its primary key.
+     */
+    @NotNull
+    @Column(name = "request_date", nullable = false)
     private ZonedDateTime requestDate;
 
     @Enumerated(EnumType.STRING)
@@ -42,6 +48,19 @@ public class BookRegistration implements Serializable {
     @Column(name = "remarks", length = 500)
     private String remarks;
 
+    /**
+     * When a borrowed book has to be back; set on borrowing, from {@code application.loans.period}.
+     */
+    @Column(name = "due_date")
+    private ZonedDateTime dueDate;
+
+    /**
+     * When the student was sent the overdue notice of this loan. Written by {@code OverdueLoanNotifier} only.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "overdue_notified_at", insertable = false, updatable = false)
+    private Instant overdueNotifiedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "bookRegistrations", "categoryType" }, allowSetters = true)
     private Book book;
@@ -126,6 +145,27 @@ public class BookRegistration implements Serializable {
         this.remarks = remarks;
     }
 
+    public ZonedDateTime getDueDate() {
+        return this.dueDate;
+    }
+
+    public BookRegistration dueDate(ZonedDateTime dueDate) {
+        this.setDueDate(dueDate);
+        return this;
+    }
+
+    public void setDueDate(ZonedDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Instant getOverdueNotifiedAt() {
+        return this.overdueNotifiedAt;
+    }
+
+    public void setOverdueNotifiedAt(Instant overdueNotifiedAt) {
+        this.overdueNotifiedAt = overdueNotifiedAt;
+    }
+
     public Book getBook() {
         return this.book;
     }
@@ -168,6 +208,7 @@ public class BookRegistration implements Serializable {
             ", requestStatus='" + getRequestStatus() + "'" +
             ", returnDate='" + getReturnDate() + "'" +
             ", remarks='" + getRemarks() + "'" +
+            ", dueDate='" + getDueDate() + "'" +
             "}";
     }
 }
@@ -1,19 +1,23 @@
 package com.application.demo.book.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A CategoryType.
  */
 @Entity
 @Table(name = "category_type")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class CategoryType implements Serializable {
+public class CategoryType extends AbstractAuditingEntity<Long> implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -23,6 +27,14 @@ public class CategoryType implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    /**
+     * Incremented by every change of the row; the ETag of the entity is built from it.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Column(name = "title", nullable = false)
     private String title;
@@ -50,6 +62,14 @@ public class CategoryType implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return this.title;
     }
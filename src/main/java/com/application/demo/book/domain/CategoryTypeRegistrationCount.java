@@ -0,0 +1,60 @@
+package com.application.demo.book.domain;
+
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The number of {@link BookRegistration}s of the books of a {@link CategoryType}, maintained by the registration outbox relay.
+ * <p>
+ * A registration counts for the category type its book had when the registration was created.
+ */
+@Entity
+@Immutable
+@Table(name = "category_type_registration_count")
+public class CategoryTypeRegistrationCount implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "category_type_id")
+    private Long categoryTypeId;
+
+    @Column(name = "registrations", nullable = false)
+    private long registrations;
+
+    public Long getCategoryTypeId() {
+        return this.categoryTypeId;
+    }
+
+    public long getRegistrations() {
+        return this.registrations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CategoryTypeRegistrationCount)) {
+            return false;
+        }
+        return getCategoryTypeId() != null && getCategoryTypeId().equals(((CategoryTypeRegistrationCount) o).getCategoryTypeId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CategoryTypeRegistrationCount{" +
+            "categoryTypeId=" + getCategoryTypeId() +
+            ", registrations=" + getRegistrations() +
+            "}";
+    }
+}
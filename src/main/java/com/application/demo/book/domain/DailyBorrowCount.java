@@ -0,0 +1,59 @@
+package com.application.demo.book.domain;
+
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The number of borrows recorded on a day (UTC), maintained by the registration outbox relay.
+ */
+@Entity
+@Immutable
+@Table(name = "daily_borrow_count")
+public class DailyBorrowCount implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "borrow_date")
+    private LocalDate borrowDate;
+
+    @Column(name = "borrows", nullable = false)
+    private long borrows;
+
+    public LocalDate getBorrowDate() {
+        return this.borrowDate;
+    }
+
+    public long getBorrows() {
+        return this.borrows;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DailyBorrowCount)) {
+            return false;
+        }
+        return getBorrowDate() != null && getBorrowDate().equals(((DailyBorrowCount) o).getBorrowDate());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DailyBorrowCount{" +
+            "borrowDate='" + getBorrowDate() + "'" +
+            ", borrows=" + getBorrows() +
+            "}";
+    }
+}
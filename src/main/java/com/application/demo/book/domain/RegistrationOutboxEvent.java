@@ -0,0 +1,237 @@
+package com.application.demo.book.domain;
+
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.domain.enumeration.RegistrationEventType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A change of a {@link BookRegistration}, written in the transaction of the change and relayed to the consumers afterwards.
+ */
+@Entity
+@Table(name = "registration_outbox_event")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RegistrationOutboxEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private RegistrationEventType eventType;
+
+    @NotNull
+    @Column(name = "registration_id", nullable = false)
+    private Long registrationId;
+
+    @Column(name = "book_id")
+    private Long bookId;
+
+    /**
+     * The category type of the book of the registration when the event was written, none for a deletion.
+     */
+    @Column(name = "category_type_id")
+    private Long categoryTypeId;
+
+    /**
+     * The category type of the book of the registration before the change, none for a creation.
+     */
+    @Column(name = "previous_category_type_id")
+    private Long previousCategoryTypeId;
+
+    @Column(name = "student_id")
+    private String studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private BookStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private BookStatus status;
+
+    @NotNull
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @JsonIgnore
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public RegistrationEventType getEventType() {
+        return this.eventType;
+    }
+
+    public RegistrationOutboxEvent eventType(RegistrationEventType eventType) {
+        this.setEventType(eventType);
+        return this;
+    }
+
+    public void setEventType(RegistrationEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getRegistrationId() {
+        return this.registrationId;
+    }
+
+    public RegistrationOutboxEvent registrationId(Long registrationId) {
+        this.setRegistrationId(registrationId);
+        return this;
+    }
+
+    public void setRegistrationId(Long registrationId) {
+        this.registrationId = registrationId;
+    }
+
+    public Long getBookId() {
+        return this.bookId;
+    }
+
+    public RegistrationOutboxEvent bookId(Long bookId) {
+        this.setBookId(bookId);
+        return this;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public Long getCategoryTypeId() {
+        return this.categoryTypeId;
+    }
+
+    public RegistrationOutboxEvent categoryTypeId(Long categoryTypeId) {
+        this.setCategoryTypeId(categoryTypeId);
+        return this;
+    }
+
+    public void setCategoryTypeId(Long categoryTypeId) {
+        this.categoryTypeId = categoryTypeId;
+    }
+
+    public Long getPreviousCategoryTypeId() {
+        return this.previousCategoryTypeId;
+    }
+
+    public RegistrationOutboxEvent previousCategoryTypeId(Long previousCategoryTypeId) {
+        this.setPreviousCategoryTypeId(previousCategoryTypeId);
+        return this;
+    }
+
+    public void setPreviousCategoryTypeId(Long previousCategoryTypeId) {
+        this.previousCategoryTypeId = previousCategoryTypeId;
+    }
+
+    public String getStudentId() {
+        return this.studentId;
+    }
+
+    public RegistrationOutboxEvent studentId(String studentId) {
+        this.setStudentId(studentId);
+        return this;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public BookStatus getPreviousStatus() {
+        return this.previousStatus;
+    }
+
+    public RegistrationOutboxEvent previousStatus(BookStatus previousStatus) {
+        this.setPreviousStatus(previousStatus);
+        return this;
+    }
+
+    public void setPreviousStatus(BookStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public BookStatus getStatus() {
+        return this.status;
+    }
+
+    public RegistrationOutboxEvent status(BookStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(BookStatus status) {
+        this.status = status;
+    }
+
+    public Instant getOccurredAt() {
+        return this.occurredAt;
+    }
+
+    public RegistrationOutboxEvent occurredAt(Instant occurredAt) {
+        this.setOccurredAt(occurredAt);
+        return this;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Instant getPublishedAt() {
+        return this.publishedAt;
+    }
+
+    public void setPublishedAt(Instant publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RegistrationOutboxEvent)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((RegistrationOutboxEvent) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RegistrationOutboxEvent{" +
+            "id=" + getId() +
+            ", eventType='" + getEventType() + "'" +
+            ", registrationId=" + getRegistrationId() +
+            ", bookId=" + getBookId() +
+            ", categoryTypeId=" + getCategoryTypeId() +
+            ", previousCategoryTypeId=" + getPreviousCategoryTypeId() +
+            ", previousStatus='" + getPreviousStatus() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", occurredAt='" + getOccurredAt() + "'" +
+            "}";
+    }
+}
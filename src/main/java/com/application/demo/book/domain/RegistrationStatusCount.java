@@ -0,0 +1,60 @@
+package com.application.demo.book.domain;
+
+import com.application.demo.book.domain.enumeration.BookStatus;
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The number of {@link BookRegistration}s in a status, maintained by the registration outbox relay.
+ */
+@Entity
+@Immutable
+@Table(name = "registration_status_count")
+public class RegistrationStatusCount implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "request_status")
+    private BookStatus requestStatus;
+
+    @Column(name = "registrations", nullable = false)
+    private long registrations;
+
+    public BookStatus getRequestStatus() {
+        return this.requestStatus;
+    }
+
+    public long getRegistrations() {
+        return this.registrations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RegistrationStatusCount)) {
+            return false;
+        }
+        return getRequestStatus() != null && getRequestStatus().equals(((RegistrationStatusCount) o).getRequestStatus());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RegistrationStatusCount{" +
+            "requestStatus='" + getRequestStatus() + "'" +
+            ", registrations=" + getRegistrations() +
+            "}";
+    }
+}
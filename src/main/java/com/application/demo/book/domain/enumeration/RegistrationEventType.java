@@ -0,0 +1,10 @@
+package com.application.demo.book.domain.enumeration;
+
+/**
+ * The RegistrationEventType enumeration.
+ */
+public enum RegistrationEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+}
@@ -1,7 +1,10 @@
 package com.application.demo.book.management;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +16,37 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION = "Lookups of the presented tokens among the tokens already decoded.";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
+    public static final String TOKEN_CACHE_HIT_RATIO_METER_NAME = "security.authentication.token-cache.hit-ratio";
+
+    public static final String TOKEN_DECODE_METER_NAME = "security.authentication.token-decode";
+    public static final String TOKEN_DECODE_METER_DESCRIPTION = "Time spent verifying and parsing the tokens not found in the cache.";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
 
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Timer tokenDecodeTimer;
+
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+        Gauge
+            .builder(TOKEN_CACHE_HIT_RATIO_METER_NAME, this, SecurityMetersService::tokenCacheHitRatio)
+            .description("Share of the token cache lookups finding the token, since the start.")
+            .register(registry);
+        this.tokenDecodeTimer = Timer.builder(TOKEN_DECODE_METER_NAME).description(TOKEN_DECODE_METER_DESCRIPTION).register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -33,6 +57,19 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter
+            .builder(TOKEN_CACHE_METER_NAME)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private double tokenCacheHitRatio() {
+        double hits = tokenCacheHitCounter.count();
+        double lookups = hits + tokenCacheMissCounter.count();
+        return lookups == 0 ? 0 : hits / lookups;
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -48,4 +85,16 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void trackTokenDecode(long nanos) {
+        this.tokenDecodeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
 }
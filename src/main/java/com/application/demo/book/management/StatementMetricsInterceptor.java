@@ -0,0 +1,90 @@
+package com.application.demo.book.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Measures the SQL statements of each request handled by a controller method, see {@link StatementStatistics}, into the
+ * {@code rest.statements} summary and the {@code rest.database} timer, tagged by controller class and method.
+ * <p>
+ * Requests going asynchronous (streamed and server-sent responses) are not recorded: their statements run on other threads.
+ */
+public class StatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENTS_METER_NAME = "rest.statements";
+    public static final String DATABASE_TIME_METER_NAME = "rest.database";
+
+    private static final String STATISTICS_ATTRIBUTE = StatementMetricsInterceptor.class.getName() + ".statistics";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public StatementMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(STATISTICS_ATTRIBUTE, StatementStatistics.open());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        StatementStatistics statistics = close(request);
+        if (statistics != null) {
+            Meters handlerMeters = meters.computeIfAbsent(((HandlerMethod) handler).getMethod(), this::meters);
+            handlerMeters.statements.record(statistics.getStatements());
+            handlerMeters.databaseTime.record(statistics.getDatabaseTime());
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        close(request);
+    }
+
+    /**
+     * Closes the measure opened for the request: the thread goes back to its pool.
+     */
+    private static StatementStatistics close(HttpServletRequest request) {
+        StatementStatistics statistics = (StatementStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        if (statistics != null) {
+            request.removeAttribute(STATISTICS_ATTRIBUTE);
+            statistics.close();
+        }
+        return statistics;
+    }
+
+    private Meters meters(Method method) {
+        String controller = method.getDeclaringClass().getSimpleName();
+        return new Meters(
+            DistributionSummary
+                .builder(STATEMENTS_METER_NAME)
+                .description("SQL statements prepared while handling the requests")
+                .baseUnit("statements")
+                .tag("controller", controller)
+                .tag("method", method.getName())
+                .register(meterRegistry),
+            Timer
+                .builder(DATABASE_TIME_METER_NAME)
+                .description("Time spent executing SQL statements while handling the requests")
+                .tag("controller", controller)
+                .tag("method", method.getName())
+                .register(meterRegistry)
+        );
+    }
+
+    private record Meters(DistributionSummary statements, Timer databaseTime) {}
+}
@@ -0,0 +1,176 @@
+package com.application.demo.book.management;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The SQL statements prepared by Hibernate on the current thread, and the time spent executing them, between
+ * {@link #open()} and {@link #close()}: a REST request (see {@link StatementMetricsInterceptor}) or a test.
+ * <p>
+ * Scopes nest: a scope adds what it measured to the one opened before it on the same thread. The statements are counted
+ * by {@link Inspector} when they are prepared, and timed by {@link TimingListener} when they are executed; the ones
+ * taking longer than the threshold of the {@link Inspector} are logged with their SQL, which holds placeholders and
+ * never the bound values. Work done on other threads (streamed responses, {@code @Async} methods) is not measured.
+ */
+public final class StatementStatistics implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StatementStatistics.class);
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The last statement prepared on each thread, for the slow statements log: cleared when the outermost scope is closed,
+     * or once executed outside of any scope.
+     */
+    private static final ThreadLocal<Prepared> LAST_PREPARED = new ThreadLocal<>();
+
+    private final StatementStatistics parent;
+
+    private final List<String> statementsSql;
+
+    private long statements;
+
+    private long databaseNanos;
+
+    private StatementStatistics(StatementStatistics parent, boolean keepSql) {
+        this.parent = parent;
+        this.statementsSql = keepSql ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Starts measuring the statements of the current thread.
+     */
+    public static StatementStatistics open() {
+        return open(false);
+    }
+
+    /**
+     * Starts measuring the statements of the current thread, keeping their SQL when {@code keepSql} or when the enclosing
+     * measure keeps it.
+     */
+    public static StatementStatistics open(boolean keepSql) {
+        StatementStatistics parent = CURRENT.get();
+        StatementStatistics statistics = new StatementStatistics(parent, keepSql || (parent != null && parent.statementsSql != null));
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops the measure and adds it to the enclosing one, if any.
+     */
+    @Override
+    public void close() {
+        if (parent == null) {
+            CURRENT.remove();
+            LAST_PREPARED.remove();
+        } else {
+            CURRENT.set(parent);
+            parent.add(this);
+        }
+    }
+
+    private void add(StatementStatistics child) {
+        statements += child.statements;
+        databaseNanos += child.databaseNanos;
+        if (statementsSql != null) {
+            statementsSql.addAll(child.statementsSql);
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public Duration getDatabaseTime() {
+        return Duration.ofNanos(databaseNanos);
+    }
+
+    /**
+     * The SQL of the statements, in the order they were prepared, when the measure was opened to keep it.
+     */
+    public List<String> getStatementsSql() {
+        return statementsSql == null ? List.of() : List.copyOf(statementsSql);
+    }
+
+    static void prepared(String sql, long slowStatementNanos) {
+        LAST_PREPARED.set(new Prepared(sql, slowStatementNanos));
+        StatementStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            if (statistics.statementsSql != null) {
+                statistics.statementsSql.add(sql);
+            }
+        }
+    }
+
+    static void executed(long nanos) {
+        StatementStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.databaseNanos += nanos;
+        }
+        Prepared prepared = LAST_PREPARED.get();
+        if (prepared != null && nanos > prepared.slowStatementNanos()) {
+            LOG.warn("Slow statement ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), prepared.sql());
+        }
+        if (statistics == null) {
+            LAST_PREPARED.remove();
+        }
+    }
+
+    private record Prepared(String sql, long slowStatementNanos) {}
+
+    /**
+     * Counts the statements, set as the {@code hibernate.session_factory.statement_inspector}.
+     */
+    public static class Inspector implements StatementInspector {
+
+        private final long slowStatementNanos;
+
+        /**
+         * @param slowThreshold the duration above which an executed statement is logged, {@code null} to log none.
+         */
+        public Inspector(Duration slowThreshold) {
+            this.slowStatementNanos = slowThreshold == null ? Long.MAX_VALUE : slowThreshold.toNanos();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            prepared(sql, slowStatementNanos);
+            return sql;
+        }
+    }
+
+    /**
+     * Times the statements, set as the {@code hibernate.session.events.auto} listener: Hibernate creates one per session.
+     */
+    public static class TimingListener implements SessionEventListener {
+
+        private long start;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executed(System.nanoTime() - start);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executed(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.application.demo.book.repository;
+
+import com.application.demo.book.domain.ArchivedBookRegistration;
+import jakarta.persistence.QueryHint;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ArchivedBookRegistration entity.
+ */
+@Repository
+public interface ArchivedBookRegistrationRepository extends JpaRepository<ArchivedBookRegistration, Long> {
+    @EntityGraph(attributePaths = { "book", "book.categoryType" })
+    Optional<ArchivedBookRegistration> findOneWithBookById(Long id);
+
+    @EntityGraph(attributePaths = { "book", "book.categoryType" })
+    @Query(
+        "select bookRegistration from ArchivedBookRegistration bookRegistration" +
+        " where bookRegistration.requestDate >= :from" +
+        " order by bookRegistration.requestDate, bookRegistration.id"
+    )
+    List<ArchivedBookRegistration> findAllWithBookRequestedFrom(@Param("from") ZonedDateTime from);
+
+    @EntityGraph(attributePaths = { "book", "book.categoryType" })
+    @Query(
+        "select bookRegistration from ArchivedBookRegistration bookRegistration" +
+        " where bookRegistration.requestDate >= :from and bookRegistration.requestDate < :to" +
+        " order by bookRegistration.requestDate, bookRegistration.id"
+    )
+    List<ArchivedBookRegistration> findAllWithBookRequestedBetween(@Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
+
+    /**
+     * Streams every archived registration with its book, in id order, through a server-side cursor; used like
+     * {@link BookRegistrationRepository#streamAllWithBook()}.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + BookRegistrationRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+        }
+    )
+    @Query(
+        "select bookRegistration from ArchivedBookRegistration bookRegistration left join fetch bookRegistration.book" +
+        " order by bookRegistration.id"
+    )
+    Stream<ArchivedBookRegistration> streamAllWithBook();
+}
@@ -0,0 +1,127 @@
+package com.application.demo.book.repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The monthly partitions of {@code book_registration}, named {@code book_registration_pYYYYMM} and holding the
+ * registrations requested in that month (UTC).
+ * <p>
+ * Table names are only ever built from a {@link YearMonth}, never from input.
+ */
+@Repository
+public class BookRegistrationPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "book_registration_p";
+
+    private static final String DEFAULT_PARTITION = "book_registration_default";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+
+    private static final String DROP_LOCK_TIMEOUT = "5s";
+
+    private static final String PARTITIONS_QUERY =
+        "SELECT child.relname FROM pg_inherits inheritance" +
+        " JOIN pg_class child ON child.oid = inheritance.inhrelid" +
+        " JOIN pg_class parent ON parent.oid = inheritance.inhparent" +
+        " WHERE parent.relname = 'book_registration' AND parent.relnamespace = current_schema()::regnamespace";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookRegistrationPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the months having a partition, in no particular order.
+     */
+    public List<YearMonth> findMonthlyPartitions() {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(PARTITIONS_QUERY, String.class)) {
+            if (name.startsWith(PARTITION_PREFIX)) {
+                try {
+                    months.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+                } catch (DateTimeParseException e) {
+                    // not one of the monthly partitions
+                }
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Creates the partition of the month if it does not exist yet; must be called in a transaction.
+     * <p>
+     * The registrations of that month already in the default partition are moved to the new one: it is filled as a plain
+     * table, with the default partition locked, then attached.
+     *
+     * @return the number of registrations moved out of the default partition.
+     */
+    public int createMonthlyPartition(YearMonth month) {
+        String partition = partitionName(month);
+        String range = "request_date >= '%s' AND request_date < '%s'".formatted(month.atDay(1), month.plusMonths(1).atDay(1));
+        Boolean inDefault = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE " + range + ")",
+            Boolean.class
+        );
+        if (!Boolean.TRUE.equals(inDefault)) {
+            jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF book_registration FOR VALUES FROM ('%s') TO ('%s')".formatted(
+                        partition,
+                        month.atDay(1),
+                        month.plusMonths(1).atDay(1)
+                    )
+            );
+            return 0;
+        }
+        // new registrations of the month wait for the lock, and then go to the new partition
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE %s (LIKE book_registration INCLUDING DEFAULTS)".formatted(partition));
+        int moved = jdbcTemplate.update(
+            "WITH moved AS (DELETE FROM %s WHERE %s RETURNING *) INSERT INTO %s SELECT * FROM moved".formatted(
+                    DEFAULT_PARTITION,
+                    range,
+                    partition
+                )
+        );
+        jdbcTemplate.execute(
+            "ALTER TABLE book_registration ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')".formatted(
+                    partition,
+                    month.atDay(1),
+                    month.plusMonths(1).atDay(1)
+                )
+        );
+        return moved;
+    }
+
+    /**
+     * Drops the partition of the month if it holds no registration; must be called in a transaction, which keeps the
+     * table locked from the check to the drop.
+     * <p>
+     * Dropping a partition locks {@code book_registration} itself: the parent is locked first, as every query on the
+     * table does, rather than the partition first and the parent on drop, which could deadlock with them. The lock is
+     * given up after {@link #DROP_LOCK_TIMEOUT} rather than queueing every query on the table behind a long transaction.
+     *
+     * @return {@code true} if the partition was dropped.
+     */
+    public boolean dropMonthlyPartitionIfEmpty(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + DROP_LOCK_TIMEOUT + "'");
+        jdbcTemplate.execute("LOCK TABLE book_registration IN ACCESS EXCLUSIVE MODE");
+        Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(empty)) {
+            return false;
+        }
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        return true;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(month);
+    }
+}
@@ -1,7 +1,18 @@
 package com.application.demo.book.repository;
 
 import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,165 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BookRegistrationRepository extends JpaRepository<BookRegistration, Long> {}
+public interface BookRegistrationRepository extends BookRegistrationRepositoryWithFields, JpaRepository<BookRegistration, Long> {
+    @EntityGraph(attributePaths = { "book", "book.categoryType" })
+    @Query("select bookRegistration from BookRegistration bookRegistration")
+    List<BookRegistration> findAllWithBook();
+
+    @EntityGraph(attributePaths = { "book", "book.categoryType" })
+    Optional<BookRegistration> findOneWithBookById(Long id);
+
+    /**
+     * The registrations requested from {@code from} on, in request date order; only the partitions of the range are read.
+     */
+    @EntityGraph(attributePaths = { "book", "book.categoryType" })
+    @Query(
+        "select bookRegistration from BookRegistration bookRegistration" +
+        " where bookRegistration.requestDate >= :from" +
+        " order by bookRegistration.requestDate, bookRegistration.id"
+    )
+    List<BookRegistration> findAllWithBookRequestedFrom(@Param("from") ZonedDateTime from);
+
+    /**
+     * The registrations requested from {@code from} (inclusive) to {@code to} (exclusive), in request date order; only
+     * the partitions of the range are read.
+     */
+    @EntityGraph(attributePaths = { "book", "book.categoryType" })
+    @Query(
+        "select bookRegistration from BookRegistration bookRegistration" +
+        " where bookRegistration.requestDate >= :from and bookRegistration.requestDate < :to" +
+        " order by bookRegistration.requestDate, bookRegistration.id"
+    )
+    List<BookRegistration> findAllWithBookRequestedBetween(@Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
+
+    /**
+     * Number of rows fetched per round trip by {@link #streamAllWithBook()}.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Streams every registration with its book, in id order, through a server-side cursor.
+     * <p>
+     * Must be consumed inside a transaction (the PostgreSQL driver only honours the fetch size with auto-commit off)
+     * and closed afterwards; callers should detach the entities they are done with to keep the persistence context small.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+        }
+    )
+    @Query("select bookRegistration from BookRegistration bookRegistration left join fetch bookRegistration.book order by bookRegistration.id")
+    Stream<BookRegistration> streamAllWithBook();
+
+    /**
+     * Moves a registration from {@code from} to {@code to}, only if it still is in {@code from}: of two concurrent
+     * callers, the second one waits on the row lock of the first and then finds nothing to update.
+     *
+     * @return {@code 1} if the registration was moved, {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update BookRegistration bookRegistration" +
+        " set bookRegistration.requestStatus = :to, bookRegistration.returnDate = :returnDate" +
+        " where bookRegistration.id = :id and bookRegistration.requestStatus = :from"
+    )
+    int changeStatus(
+        @Param("id") Long id,
+        @Param("from") BookStatus from,
+        @Param("to") BookStatus to,
+        @Param("returnDate") ZonedDateTime returnDate
+    );
+
+    @Query("select bookRegistration.book.id from BookRegistration bookRegistration where bookRegistration.id = :id")
+    Optional<Long> findBookIdById(@Param("id") Long id);
+
+    /**
+     * Reads a registration with its row locked until the end of the transaction: the concurrent changes and returns of
+     * the registration wait for it, and then see its new status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select bookRegistration from BookRegistration bookRegistration where bookRegistration.id = :id")
+    Optional<BookRegistration> findOneForUpdateById(@Param("id") Long id);
+
+    /**
+     * Locks the next {@code limit} open loans due before {@code now} and not noticed yet, in due date then id order,
+     * starting after the loan ({@code afterDueDate}, {@code afterId}); the loans locked by another run are skipped.
+     * <p>
+     * Served by the partial index on the open loans without a notice: the status is a literal so that the index also
+     * matches the generic plans of the prepared statement, and {@code due_date >= afterDueDate} bounds the index scan.
+     *
+     * @return the ids of the loans locked, until the end of the transaction.
+     */
+    @Query(
+        value = "SELECT id FROM book_registration" +
+        " WHERE request_status = 'BORROW' AND overdue_notified_at IS NULL" +
+        " AND due_date < :now AND due_date >= :afterDueDate" +
+        " AND (due_date > :afterDueDate OR id > :afterId)" +
+        " ORDER BY due_date, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    List<Long> lockOverdueAfter(
+        @Param("now") ZonedDateTime now,
+        @Param("afterDueDate") ZonedDateTime afterDueDate,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Claims the overdue notice of the loans among {@code ids} still open, overdue at {@code now} and without one.
+     *
+     * @return the number of loans claimed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update BookRegistration bookRegistration set bookRegistration.overdueNotifiedAt = :notifiedAt" +
+        " where bookRegistration.id in :ids" +
+        " and bookRegistration.requestStatus = com.application.demo.book.domain.enumeration.BookStatus.BORROW" +
+        " and bookRegistration.overdueNotifiedAt is null and bookRegistration.dueDate < :now"
+    )
+    int claimOverdueNotices(
+        @Param("ids") Collection<Long> ids,
+        @Param("now") ZonedDateTime now,
+        @Param("notifiedAt") Instant notifiedAt
+    );
+
+    @EntityGraph(attributePaths = "book")
+    @Query(
+        "select bookRegistration from BookRegistration bookRegistration" +
+        " where bookRegistration.id in :ids order by bookRegistration.dueDate, bookRegistration.id"
+    )
+    List<BookRegistration> findAllWithBookByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Gives back the claim of the loans whose notice could not be sent, for the next run to send it.
+     */
+    @Modifying
+    @Query("update BookRegistration bookRegistration set bookRegistration.overdueNotifiedAt = null where bookRegistration.id in :ids")
+    int releaseOverdueNotices(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves up to {@code limit} returned or cancelled registrations requested before {@code horizon} to
+     * {@code book_registration_archive}, oldest first, in a single statement: a registration is either still there or
+     * archived, never both. Registrations locked by a running transaction are left for the next batch.
+     *
+     * @return the number of registrations archived.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "WITH moved AS (" +
+        " DELETE FROM book_registration" +
+        " WHERE request_date < :horizon AND request_status IN ('RETURN', 'CANCEL') AND id IN (" +
+        "  SELECT id FROM book_registration" +
+        "  WHERE request_date < :horizon AND request_status IN ('RETURN', 'CANCEL')" +
+        "  ORDER BY request_date, id LIMIT :limit FOR UPDATE SKIP LOCKED)" +
+        " RETURNING id, student_id, request_date, request_status, return_date, remarks, book_id, due_date, overdue_notified_at)" +
+        " INSERT INTO book_registration_archive" +
+        " (id, student_id, request_date, request_status, return_date, remarks, book_id, due_date, overdue_notified_at, archived_at)" +
+        " SELECT id, student_id, request_date, request_status, return_date, remarks, book_id, due_date, overdue_notified_at, :archivedAt" +
+        " FROM moved",
+        nativeQuery = true
+    )
+    int archiveClosedBefore(@Param("horizon") ZonedDateTime horizon, @Param("archivedAt") Instant archivedAt, @Param("limit") int limit);
+}
@@ -0,0 +1,37 @@
+package com.application.demo.book.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads of selected fields of the live book registrations, shaped like {@code BookRegistrationDTO}, see {@link SparseFieldset}.
+ */
+public interface BookRegistrationRepositoryWithFields {
+    SparseFieldset BOOK_REGISTRATION_FIELDS = new SparseFieldset(
+        "BookRegistration bookRegistration left join bookRegistration.book book left join book.categoryType categoryType"
+    )
+        .field("id", "bookRegistration.id")
+        .field("studentId", "bookRegistration.studentId")
+        .field("requestDate", "bookRegistration.requestDate")
+        .field("requestStatus", "bookRegistration.requestStatus")
+        .field("returnDate", "bookRegistration.returnDate")
+        .field("remarks", "bookRegistration.remarks")
+        .field("dueDate", "bookRegistration.dueDate")
+        .field("book.id", "book.id")
+        .field("book.author", "book.author")
+        .field("book.title", "book.title")
+        .field("book.categoryType.id", "categoryType.id")
+        .field("book.categoryType.title", "categoryType.title");
+
+    List<Map<String, Object>> findAllFields(List<String> fields);
+
+    /**
+     * The selected fields of the registrations requested from {@code from} (inclusive) to {@code to} (exclusive, or
+     * {@code null} for no end), in request date order: only the partitions of the period are read.
+     */
+    List<Map<String, Object>> findAllFieldsRequestedBetween(List<String> fields, ZonedDateTime from, ZonedDateTime to);
+
+    Optional<Map<String, Object>> findOneFields(List<String> fields, Long id);
+}
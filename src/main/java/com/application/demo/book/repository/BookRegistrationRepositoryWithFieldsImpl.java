@@ -0,0 +1,47 @@
+package com.application.demo.book.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class BookRegistrationRepositoryWithFieldsImpl implements BookRegistrationRepositoryWithFields {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        return BOOK_REGISTRATION_FIELDS.find(entityManager, fields, null, Map.of(), null, 0);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFieldsRequestedBetween(List<String> fields, ZonedDateTime from, ZonedDateTime to) {
+        return to == null
+            ? BOOK_REGISTRATION_FIELDS.find(
+                entityManager,
+                fields,
+                "bookRegistration.requestDate >= :from",
+                Map.of("from", from),
+                "bookRegistration.requestDate, bookRegistration.id",
+                0
+            )
+            : BOOK_REGISTRATION_FIELDS.find(
+                entityManager,
+                fields,
+                "bookRegistration.requestDate >= :from and bookRegistration.requestDate < :to",
+                Map.of("from", from, "to", to),
+                "bookRegistration.requestDate, bookRegistration.id",
+                0
+            );
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findOneFields(List<String> fields, Long id) {
+        return BOOK_REGISTRATION_FIELDS.find(entityManager, fields, "bookRegistration.id = :id", Map.of("id", id), null, 0)
+            .stream()
+            .findFirst();
+    }
+}
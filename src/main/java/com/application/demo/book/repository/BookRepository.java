@@ -1,7 +1,13 @@
 package com.application.demo.book.repository;
 
 import com.application.demo.book.domain.Book;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,60 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {}
+public interface BookRepository extends BookRepositoryWithFields, JpaRepository<Book, Long> {
+    @EntityGraph(attributePaths = "categoryType")
+    @Query("select book from Book book")
+    List<Book> findAllWithCategoryType();
+
+    @EntityGraph(attributePaths = "categoryType")
+    List<Book> findAllWithCategoryTypeByIdIn(Collection<Long> ids);
+
+    /**
+     * Keyset page of books whose id is greater than {@code after}, in id order.
+     * <p>
+     * {@code author} and {@code title} are lower-cased, LIKE-escaped prefixes (or {@code null} to skip the filter);
+     * only the page size of {@code pageable} is used, so no count query is issued. The category types are fetched in the
+     * same statement.
+     */
+    @EntityGraph(attributePaths = "categoryType")
+    @Query(
+        "select book from Book book" +
+        " where book.id > :after" +
+        " and (:author is null or lower(book.author) like concat(:author, '%') escape '\\')" +
+        " and (:title is null or lower(book.title) like concat(:title, '%') escape '\\')" +
+        " and (:categoryTypeId is null or book.categoryType.id = :categoryTypeId)" +
+        " order by book.id"
+    )
+    List<Book> findAllAfter(
+        @Param("after") long after,
+        @Param("author") String author,
+        @Param("title") String title,
+        @Param("categoryTypeId") Long categoryTypeId,
+        Pageable pageable
+    );
+
+    /**
+     * Full-text search over title, author and description, best matches first.
+     * <p>
+     * {@code query} is a PostgreSQL {@code tsquery} (built by the caller from sanitized terms) matched against the
+     * weighted {@code search_vector} column: title weighs more than author, which weighs more than description.
+     * Only the ids are returned, to be loaded with {@link #findAllWithCategoryTypeByIdIn}.
+     */
+    @Query(
+        value = "select book.id from book book, to_tsquery('simple', :query) search_query" +
+        " where book.search_vector @@ search_query" +
+        " order by ts_rank(book.search_vector, search_query) desc, book.id" +
+        " limit :limit",
+        nativeQuery = true
+    )
+    List<Long> searchIds(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Reads the book and locks its row until the end of the transaction, for its copies to be changed on the managed
+     * entity: concurrent borrowers of the same book queue on this row lock only, and the last copy cannot be handed out
+     * twice. The version, the audit columns and the second-level cache entry of the book follow the change on flush.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select book from Book book where book.id = :id")
+    Optional<Book> findOneForUpdateById(@Param("id") Long id);
+}
@@ -0,0 +1,37 @@
+package com.application.demo.book.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads of selected fields of the books, shaped like {@code BookDTO}, see {@link SparseFieldset}.
+ */
+public interface BookRepositoryWithFields {
+    SparseFieldset BOOK_FIELDS = new SparseFieldset("Book book left join book.categoryType categoryType")
+        .field("id", "book.id")
+        .field("author", "book.author")
+        .field("title", "book.title")
+        .field("description", "book.description")
+        .field("copies", "book.copies")
+        .field("available", "book.available")
+        .field("categoryType.id", "categoryType.id")
+        .field("categoryType.title", "categoryType.title")
+        .field("categoryType.description", "categoryType.description");
+
+    List<Map<String, Object>> findAllFields(List<String> fields);
+
+    /**
+     * The selected fields of the keyset page of {@link BookRepository#findAllAfter}, with the same filters.
+     */
+    List<Map<String, Object>> findAllFieldsAfter(
+        List<String> fields,
+        long after,
+        String author,
+        String title,
+        Long categoryTypeId,
+        int limit
+    );
+
+    Optional<Map<String, Object>> findOneFields(List<String> fields, Long id);
+}
@@ -0,0 +1,51 @@
+package com.application.demo.book.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class BookRepositoryWithFieldsImpl implements BookRepositoryWithFields {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        return BOOK_FIELDS.find(entityManager, fields, null, Map.of(), null, 0);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFieldsAfter(
+        List<String> fields,
+        long after,
+        String author,
+        String title,
+        Long categoryTypeId,
+        int limit
+    ) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("after", after);
+        parameters.put("author", author);
+        parameters.put("title", title);
+        parameters.put("categoryTypeId", categoryTypeId);
+        return BOOK_FIELDS.find(
+            entityManager,
+            fields,
+            "book.id > :after" +
+            " and (:author is null or lower(book.author) like concat(:author, '%') escape '\\')" +
+            " and (:title is null or lower(book.title) like concat(:title, '%') escape '\\')" +
+            " and (:categoryTypeId is null or book.categoryType.id = :categoryTypeId)",
+            parameters,
+            "book.id",
+            limit
+        );
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findOneFields(List<String> fields, Long id) {
+        return BOOK_FIELDS.find(entityManager, fields, "book.id = :id", Map.of("id", id), null, 0).stream().findFirst();
+    }
+}
@@ -0,0 +1,24 @@
+package com.application.demo.book.repository;
+
+import com.application.demo.book.domain.CategoryTypeRegistrationCount;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the CategoryTypeRegistrationCount entity.
+ */
+@Repository
+public interface CategoryTypeRegistrationCountRepository extends JpaRepository<CategoryTypeRegistrationCount, Long> {
+    /**
+     * Adds {@code delta} to the count of the category type, creating its row on the first change.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO category_type_registration_count (category_type_id, registrations) VALUES (:categoryTypeId, :delta)" +
+        " ON CONFLICT (category_type_id) DO UPDATE" +
+        " SET registrations = category_type_registration_count.registrations + EXCLUDED.registrations",
+        nativeQuery = true
+    )
+    int add(@Param("categoryTypeId") Long categoryTypeId, @Param("delta") long delta);
+}
@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CategoryTypeRepository extends JpaRepository<CategoryType, Long> {}
+public interface CategoryTypeRepository extends CategoryTypeRepositoryWithFields, JpaRepository<CategoryType, Long> {}
@@ -0,0 +1,19 @@
+package com.application.demo.book.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads of selected fields of the category types, see {@link SparseFieldset}.
+ */
+public interface CategoryTypeRepositoryWithFields {
+    SparseFieldset CATEGORY_TYPE_FIELDS = new SparseFieldset("CategoryType categoryType")
+        .field("id", "categoryType.id")
+        .field("title", "categoryType.title")
+        .field("description", "categoryType.description");
+
+    List<Map<String, Object>> findAllFields(List<String> fields);
+
+    Optional<Map<String, Object>> findOneFields(List<String> fields, Long id);
+}
@@ -0,0 +1,23 @@
+package com.application.demo.book.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class CategoryTypeRepositoryWithFieldsImpl implements CategoryTypeRepositoryWithFields {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        return CATEGORY_TYPE_FIELDS.find(entityManager, fields, null, Map.of(), null, 0);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findOneFields(List<String> fields, Long id) {
+        return CATEGORY_TYPE_FIELDS.find(entityManager, fields, "categoryType.id = :id", Map.of("id", id), null, 0).stream().findFirst();
+    }
+}
@@ -0,0 +1,27 @@
+package com.application.demo.book.repository;
+
+import com.application.demo.book.domain.DailyBorrowCount;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the DailyBorrowCount entity.
+ */
+@Repository
+public interface DailyBorrowCountRepository extends JpaRepository<DailyBorrowCount, LocalDate> {
+    List<DailyBorrowCount> findAllByBorrowDateGreaterThanEqualOrderByBorrowDate(LocalDate from);
+
+    /**
+     * Adds {@code delta} to the borrows of the day, creating its row on the first borrow.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO daily_borrow_count (borrow_date, borrows) VALUES (:borrowDate, :delta)" +
+        " ON CONFLICT (borrow_date) DO UPDATE SET borrows = daily_borrow_count.borrows + EXCLUDED.borrows",
+        nativeQuery = true
+    )
+    int add(@Param("borrowDate") LocalDate borrowDate, @Param("delta") long delta);
+}
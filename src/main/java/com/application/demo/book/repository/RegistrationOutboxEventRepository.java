@@ -0,0 +1,41 @@
+package com.application.demo.book.repository;
+
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the RegistrationOutboxEvent entity.
+ */
+@Repository
+public interface RegistrationOutboxEventRepository extends JpaRepository<RegistrationOutboxEvent, Long> {
+    /**
+     * Locks the oldest events not published yet, skipping the ones another relay has locked, so that several instances
+     * can drain the outbox side by side. Served by the partial index on the unpublished events.
+     */
+    @Query(
+        value = "SELECT * FROM registration_outbox_event WHERE published_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    List<RegistrationOutboxEvent> lockUnpublished(@Param("limit") int limit);
+
+    @Modifying
+    @Query("update RegistrationOutboxEvent event set event.publishedAt = :publishedAt where event.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    /**
+     * Deletes the oldest {@code limit} events published before {@code before}. The primary key is walked in id order, the
+     * order the events are published in, so no index on {@code published_at} is needed.
+     */
+    @Modifying
+    @Query(
+        value = "DELETE FROM registration_outbox_event WHERE id IN (" +
+        "SELECT id FROM registration_outbox_event WHERE published_at < :before ORDER BY id LIMIT :limit)",
+        nativeQuery = true
+    )
+    int deletePublishedBefore(@Param("before") Instant before, @Param("limit") int limit);
+}
@@ -0,0 +1,24 @@
+package com.application.demo.book.repository;
+
+import com.application.demo.book.domain.RegistrationStatusCount;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the RegistrationStatusCount entity.
+ */
+@Repository
+public interface RegistrationStatusCountRepository extends JpaRepository<RegistrationStatusCount, BookStatus> {
+    /**
+     * Adds {@code delta} to the count of the status, creating its row on the first change.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO registration_status_count (request_status, registrations) VALUES (:status, :delta)" +
+        " ON CONFLICT (request_status) DO UPDATE SET registrations = registration_status_count.registrations + EXCLUDED.registrations",
+        nativeQuery = true
+    )
+    int add(@Param("status") String status, @Param("delta") long delta);
+}
@@ -0,0 +1,122 @@
+package com.application.demo.book.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The fields of a representation that a client can select, and the JPQL paths they are read from.
+ * <p>
+ * Selected fields are read with a tuple query naming only their columns, and returned as maps shaped like the full
+ * representation: {@code "categoryType.title"} is put under {@code "title"} of a nested {@code "categoryType"} map, which
+ * is {@code null} when every selected field of it is (a missing optional association). The {@code id} is always selected,
+ * so that rows can be told apart and paged.
+ */
+public final class SparseFieldset {
+
+    private static final String ID = "id";
+
+    private final String from;
+
+    private final Map<String, String> paths = new LinkedHashMap<>();
+
+    /**
+     * @param from the JPQL {@code from} clause the paths refer to, with the joins they need.
+     */
+    public SparseFieldset(String from) {
+        this.from = from;
+    }
+
+    /**
+     * Declares a field, in the order of the representation; only used while the fieldset is built.
+     */
+    SparseFieldset field(String name, String path) {
+        paths.put(name, path);
+        return this;
+    }
+
+    /**
+     * Resolves the requested fields: a field name selects that field, the name of a nested object all its fields.
+     *
+     * @return the fields to select, {@code id} first and then in the order of the representation.
+     * @throws IllegalArgumentException naming the first requested field that does not exist.
+     */
+    public List<String> select(Collection<String> requested) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(ID);
+        for (String name : requested) {
+            List<String> fields = paths.keySet().stream().filter(field -> field.equals(name) || field.startsWith(name + ".")).toList();
+            if (fields.isEmpty()) {
+                throw new IllegalArgumentException(name);
+            }
+            selected.addAll(fields);
+        }
+        return paths.keySet().stream().filter(selected::contains).toList();
+    }
+
+    /**
+     * Reads the selected fields of the rows matching {@code where}.
+     *
+     * @param fields the fields to read, resolved by {@link #select}.
+     * @param where the JPQL condition, or {@code null} for every row.
+     * @param parameters the named parameters of the condition.
+     * @param orderBy the JPQL order, or {@code null} for none.
+     * @param maxResults the maximum number of rows, or {@code 0} for all of them.
+     */
+    List<Map<String, Object>> find(
+        EntityManager entityManager,
+        List<String> fields,
+        String where,
+        Map<String, ?> parameters,
+        String orderBy,
+        int maxResults
+    ) {
+        String jpql =
+            fields.stream().map(paths::get).collect(Collectors.joining(", ", "select ", " from " + from)) +
+            (where == null ? "" : " where " + where) +
+            (orderBy == null ? "" : " order by " + orderBy);
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (maxResults > 0) {
+            query.setMaxResults(maxResults);
+        }
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                put(row, fields.get(i), tuple.get(i));
+            }
+            rows.add(collapseEmpty(row));
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> row, String field, Object value) {
+        int dot = field.indexOf('.');
+        if (dot < 0) {
+            row.put(field, value);
+            return;
+        }
+        Map<String, Object> nested = (Map<String, Object>) row.computeIfAbsent(field.substring(0, dot), key -> new LinkedHashMap<>());
+        put(nested, field.substring(dot + 1), value);
+    }
+
+    /**
+     * Replaces the nested maps holding only {@code null}s by {@code null}, innermost first.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> collapseEmpty(Map<String, Object> row) {
+        row.replaceAll((key, value) -> value instanceof Map<?, ?> nested ? collapseEmpty((Map<String, Object>) nested) : value);
+        return row.values().stream().allMatch(value -> value == null) ? null : row;
+    }
+}
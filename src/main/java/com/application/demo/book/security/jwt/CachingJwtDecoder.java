@@ -0,0 +1,159 @@
+package com.application.demo.book.security.jwt;
+
+import com.application.demo.book.management.SecurityMetersService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.proc.BadJWSException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * {@link JwtDecoder} keeping the tokens it decoded until they expire, so that a client presenting the same token again
+ * skips the signature verification and the claims parsing.
+ * <p>
+ * Tokens are keyed by their SHA-256 hash and compared in full on a hit; tokens without an expiry are never kept.
+ * Failures are classified by exception type into the {@link SecurityMetersService} counters, which also get the cache
+ * hits and misses and the decoding time of the misses.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    /**
+     * Error code of the tokens expired or not valid yet, see {@link #timestampValidator()}.
+     */
+    public static final String INVALID_TIMESTAMP_ERROR_CODE = "invalid_timestamp";
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final Cache<String, Jwt> cache;
+
+    /**
+     * @param delegate the decoder verifying and validating the tokens, with {@link #timestampValidator()}.
+     * @param metersService the meters to update.
+     * @param maximumSize the maximum number of tokens kept, {@code 0} to keep none.
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, long maximumSize) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.cache = maximumSize > 0 ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfter(new UntilExpiry()).build() : null;
+    }
+
+    /**
+     * The default validation of the {@code exp} and {@code nbf} claims, failing with {@link #INVALID_TIMESTAMP_ERROR_CODE}
+     * so that these failures can be told from the others.
+     */
+    public static OAuth2TokenValidator<Jwt> timestampValidator() {
+        JwtTimestampValidator timestampValidator = new JwtTimestampValidator();
+        return jwt -> {
+            OAuth2TokenValidatorResult result = timestampValidator.validate(jwt);
+            if (!result.hasErrors()) {
+                return result;
+            }
+            return OAuth2TokenValidatorResult.failure(
+                result
+                    .getErrors()
+                    .stream()
+                    .map(error -> new OAuth2Error(INVALID_TIMESTAMP_ERROR_CODE, error.getDescription(), error.getUri()))
+                    .toList()
+            );
+        };
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = null;
+        if (cache != null) {
+            key = hash(token);
+            Jwt cached = cache.getIfPresent(key);
+            if (cached != null && cached.getTokenValue().equals(token)) {
+                metersService.trackTokenCacheHit();
+                return cached;
+            }
+            metersService.trackTokenCacheMiss();
+        }
+        Jwt jwt;
+        long start = System.nanoTime();
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            trackFailure(e);
+            throw e;
+        } finally {
+            metersService.trackTokenDecode(System.nanoTime() - start);
+        }
+        if (key != null && jwt.getExpiresAt() != null) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private void trackFailure(JwtException e) {
+        if (e instanceof JwtValidationException validationException) {
+            if (validationException.getErrors().stream().anyMatch(error -> INVALID_TIMESTAMP_ERROR_CODE.equals(error.getErrorCode()))) {
+                metersService.trackTokenExpired();
+            } else {
+                metersService.trackTokenUnsupported();
+            }
+        } else if (hasCause(e, BadJWSException.class)) {
+            metersService.trackTokenInvalidSignature();
+        } else if (hasCause(e, ParseException.class)) {
+            metersService.trackTokenMalformed();
+        } else {
+            metersService.trackTokenUnsupported();
+        }
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable cause = e.getCause(); cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Keeps a token until its {@code exp}, however often it is read.
+     */
+    private static final class UntilExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, jwt.getExpiresAt().toEpochMilli() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JWT decoding.
+ */
+package com.application.demo.book.security.jwt;
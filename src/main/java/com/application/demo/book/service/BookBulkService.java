@@ -0,0 +1,155 @@
+package com.application.demo.book.service;
+
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.repository.BookRepository;
+import com.application.demo.book.service.dto.BulkItemResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service creating and updating {@link Book}s in bulk.
+ * <p>
+ * Items are validated one by one and written in chunks of {@code hibernate.jdbc.batch_size}, each chunk in its own
+ * transaction: the inserts and updates of a chunk go to the database as JDBC batches, and the ids come from the pooled
+ * {@code sequence_generator} (incremented by 50), so a chunk costs a handful of round trips instead of one per book.
+ * A chunk failing in the database is rolled back on its own and reported item by item; the other chunks are kept.
+ */
+@Service
+public class BookBulkService {
+
+    private final Logger log = LoggerFactory.getLogger(BookBulkService.class);
+
+    private final BookRepository bookRepository;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public BookBulkService(
+        BookRepository bookRepository,
+        EntityManager entityManager,
+        Validator validator,
+        PlatformTransactionManager transactionManager,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int chunkSize
+    ) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates the books without an id and updates the ones with an id.
+     *
+     * @param books the books to save, read lazily so that a stream of books is never held in memory at once.
+     * @return the outcome of every item, in the order of the items.
+     */
+    public List<BulkItemResult> saveAll(Iterator<Book> books) {
+        List<BulkItemResult> results = new ArrayList<>();
+        List<IndexedBook> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            Book book;
+            try {
+                if (!books.hasNext()) {
+                    break;
+                }
+                book = books.next();
+            } catch (RuntimeException e) {
+                // the items after an unreadable one cannot be located reliably: stop there, keeping what was saved
+                log.debug("Unreadable bulk item at index {}", index, e);
+                results.add(BulkItemResult.failed(index, null, "Unreadable item"));
+                break;
+            }
+            Set<ConstraintViolation<Book>> violations = validator.validate(book);
+            if (violations.isEmpty()) {
+                chunk.add(new IndexedBook(index, book.getId(), book));
+            } else {
+                results.add(
+                    BulkItemResult.invalid(
+                        index,
+                        book.getId(),
+                        violations.stream().map(violation -> violation.getPropertyPath() + ": " + violation.getMessage()).toList()
+                    )
+                );
+            }
+            index++;
+            if (chunk.size() == chunkSize) {
+                results.addAll(saveChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(saveChunk(chunk));
+        }
+        results.sort(Comparator.comparingInt(BulkItemResult::getIndex));
+        return results;
+    }
+
+    private List<BulkItemResult> saveChunk(List<IndexedBook> chunk) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Long> ids = chunk.stream().map(IndexedBook::id).filter(Objects::nonNull).toList();
+                Map<Long, Book> existingBooks = ids.isEmpty()
+                    ? Map.of()
+                    : bookRepository.findAllById(ids).stream().collect(Collectors.toMap(Book::getId, Function.identity()));
+                List<BulkItemResult> chunkResults = new ArrayList<>(chunk.size());
+                for (IndexedBook item : chunk) {
+                    Book book = item.book();
+                    if (book.getId() == null) {
+                        // the id is taken from the pooled sequence right away, the insert itself is batched on flush
+                        entityManager.persist(book);
+                        chunkResults.add(BulkItemResult.created(item.index(), book.getId()));
+                        continue;
+                    }
+                    Book existingBook = existingBooks.get(book.getId());
+                    if (existingBook == null) {
+                        chunkResults.add(BulkItemResult.notFound(item.index(), book.getId()));
+                        continue;
+                    }
+                    existingBook.setAuthor(book.getAuthor());
+                    existingBook.setTitle(book.getTitle());
+                    existingBook.setDescription(book.getDescription());
+                    existingBook.setCategoryType(book.getCategoryType());
+                    // copies are left alone: they only change through BookLoanService, together with the available ones
+                    chunkResults.add(BulkItemResult.updated(item.index(), book.getId()));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return chunkResults;
+            });
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            log.warn("Bulk chunk of {} books rolled back: {}", chunk.size(), e.getMessage());
+            return chunk.stream().map(item -> BulkItemResult.failed(item.index(), item.id(), "Not saved: database error")).toList();
+        }
+    }
+
+    /**
+     * An item of the request; {@code id} is the id it was sent with, before any insert assigned one.
+     */
+    private record IndexedBook(int index, Long id, Book book) {}
+}
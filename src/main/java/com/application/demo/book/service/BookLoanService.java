@@ -0,0 +1,199 @@
+package com.application.demo.book.service;
+
+import com.application.demo.book.config.ApplicationProperties;
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.repository.BookRegistrationRepository;
+import com.application.demo.book.repository.BookRepository;
+import com.application.demo.book.service.dto.BookAvailabilityDTO;
+import com.application.demo.book.service.dto.BookBorrowRequest;
+import com.application.demo.book.service.outbox.RegistrationOutbox;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service borrowing and returning copies of {@link com.application.demo.book.domain.Book}s.
+ * <p>
+ * The number of copies on the shelf is kept on the book row and only ever changed on the book read with its row locked,
+ * so the hot path takes the lock of one book row (and one registration row) and never scans the registrations; the
+ * version, the audit columns and the second-level cache entry of that one book follow the change.
+ * Every change goes through {@link #changeCounters(Book, int, int)}, which publishes the new {@link BookAvailabilityDTO} of
+ * the book as an application event.
+ */
+@Service
+@Transactional
+public class BookLoanService {
+
+    private final Logger log = LoggerFactory.getLogger(BookLoanService.class);
+
+    private final BookRepository bookRepository;
+
+    private final BookRegistrationRepository bookRegistrationRepository;
+
+    private final RegistrationOutbox registrationOutbox;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Duration loanPeriod;
+
+    public BookLoanService(
+        BookRepository bookRepository,
+        BookRegistrationRepository bookRegistrationRepository,
+        RegistrationOutbox registrationOutbox,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties
+    ) {
+        this.bookRepository = bookRepository;
+        this.bookRegistrationRepository = bookRegistrationRepository;
+        this.registrationOutbox = registrationOutbox;
+        this.eventPublisher = eventPublisher;
+        this.loanPeriod = applicationProperties.getLoans().getPeriod();
+    }
+
+    /**
+     * Takes a copy of the book off the shelf and registers it as borrowed by the student.
+     *
+     * @param request the book and the student.
+     * @return the new registration, in status {@link BookStatus#BORROW}, due one {@code application.loans.period} later.
+     * @throws EntityNotFoundException if the book does not exist.
+     * @throws BookUnavailableException if no copy of the book is left.
+     */
+    public BookRegistration borrow(BookBorrowRequest request) {
+        log.debug("Request to borrow Book : {}", request);
+        Book book = takeCopy(request.getBookId());
+        ZonedDateTime requestDate = ZonedDateTime.now();
+        BookRegistration bookRegistration = new BookRegistration()
+            .book(book)
+            .studentId(request.getStudentId())
+            .requestDate(requestDate)
+            .dueDate(requestDate.plus(loanPeriod))
+            .requestStatus(BookStatus.BORROW)
+            .remarks(request.getRemarks());
+        bookRegistration = bookRegistrationRepository.save(bookRegistration);
+        registrationOutbox.created(bookRegistration);
+        return bookRegistration;
+    }
+
+    /**
+     * Closes a borrowing and puts the copy back on the shelf.
+     *
+     * @param bookRegistrationId the id of the registration of the borrowing.
+     * @return the registration, in status {@link BookStatus#RETURN}.
+     * @throws EntityNotFoundException if the registration does not exist.
+     * @throws BookRegistrationNotBorrowedException if the registration is not in status {@link BookStatus#BORROW}.
+     */
+    public BookRegistration returnBook(Long bookRegistrationId) {
+        log.debug("Request to return BookRegistration : {}", bookRegistrationId);
+        if (bookRegistrationRepository.changeStatus(bookRegistrationId, BookStatus.BORROW, BookStatus.RETURN, ZonedDateTime.now()) == 0) {
+            if (!bookRegistrationRepository.existsById(bookRegistrationId)) {
+                throw new EntityNotFoundException("BookRegistration " + bookRegistrationId + " not found");
+            }
+            throw new BookRegistrationNotBorrowedException(bookRegistrationId);
+        }
+        Long bookId = bookRegistrationRepository.findBookIdById(bookRegistrationId).orElse(null);
+        if (bookId != null) {
+            putBackCopy(bookId);
+        }
+        BookRegistration bookRegistration = bookRegistrationRepository.findById(bookRegistrationId).orElseThrow();
+        registrationOutbox.updated(bookRegistration, BookStatus.BORROW, bookId);
+        return bookRegistration;
+    }
+
+    /**
+     * Changes the number of copies the library owns of a book; the borrowed copies stay borrowed.
+     *
+     * @param bookId the id of the book.
+     * @param copies the new number of copies.
+     * @throws EntityNotFoundException if the book does not exist.
+     * @throws BookUnavailableException if more copies are borrowed than {@code copies}.
+     */
+    public void changeCopies(Long bookId, int copies) {
+        log.debug("Request to change the copies of Book {} to {}", bookId, copies);
+        Book book = lockBook(bookId);
+        // the borrowed copies stay borrowed: the available ones move by the same amount as the owned ones
+        int available = book.getAvailable() + copies - book.getCopies();
+        if (available < 0) {
+            throw new BookUnavailableException(bookId);
+        }
+        changeCounters(book, copies, available);
+    }
+
+    /**
+     * Keeps the copies on the shelf in line with a registration created, changed or deleted through the CRUD endpoints:
+     * a copy of its book is taken when it becomes a borrowing, and put back when it stops being one. A borrowing without a
+     * due date gets the one of {@link #borrow}, one {@code application.loans.period} after its request date, so that the
+     * overdue notices find it.
+     *
+     * @param previousBookId the id of the book of the registration before the change, {@code null} if it is new.
+     * @param previousStatus the status of the registration before the change, {@code null} if it is new.
+     * @param bookRegistration the registration after the change, {@code null} if it is deleted.
+     * @throws EntityNotFoundException if the book to borrow does not exist.
+     * @throws BookUnavailableException if no copy of the book to borrow is left.
+     */
+    public void registrationChanged(Long previousBookId, BookStatus previousStatus, BookRegistration bookRegistration) {
+        Long bookId = bookRegistration == null || bookRegistration.getBook() == null ? null : bookRegistration.getBook().getId();
+        BookStatus status = bookRegistration == null ? null : bookRegistration.getRequestStatus();
+        boolean wasBorrowed = previousBookId != null && previousStatus == BookStatus.BORROW;
+        boolean isBorrowed = bookId != null && status == BookStatus.BORROW;
+        if (isBorrowed && bookRegistration.getDueDate() == null) {
+            ZonedDateTime requestDate = bookRegistration.getRequestDate() == null ? ZonedDateTime.now() : bookRegistration.getRequestDate();
+            bookRegistration.setDueDate(requestDate.plus(loanPeriod));
+        }
+        if (wasBorrowed && isBorrowed && previousBookId.equals(bookId)) {
+            return;
+        }
+        log.debug("Request to move the borrowing of Book {} ({}) to Book {} ({})", previousBookId, previousStatus, bookId, status);
+        if (isBorrowed) {
+            takeCopy(bookId);
+        }
+        if (wasBorrowed) {
+            putBackCopy(previousBookId);
+        }
+    }
+
+    private Book takeCopy(Long bookId) {
+        Book book = lockBook(bookId);
+        if (book.getAvailable() <= 0) {
+            throw new BookUnavailableException(bookId);
+        }
+        changeCounters(book, book.getCopies(), book.getAvailable() - 1);
+        return book;
+    }
+
+    private void putBackCopy(Long bookId) {
+        Book book = lockBook(bookId);
+        if (book.getAvailable() < book.getCopies()) {
+            changeCounters(book, book.getCopies(), book.getAvailable() + 1);
+        } else {
+            log.warn("Returned a copy of Book {} while all of its copies were on the shelf", bookId);
+        }
+    }
+
+    private Book lockBook(Long bookId) {
+        return bookRepository.findOneForUpdateById(bookId).orElseThrow(() -> new EntityNotFoundException("Book " + bookId + " not found"));
+    }
+
+    /**
+     * The one place the counters of an existing book are written: sets them on the locked book and publishes them as
+     * changed in this transaction, so that no change misses the availability stream. The listeners only get the event
+     * once it is committed.
+     * <p>
+     * The event carries the version the book is flushed with, one more than its current one, for the listeners to order
+     * the events of concurrent commits.
+     */
+    private void changeCounters(Book book, int copies, int available) {
+        if (copies == book.getCopies() && available == book.getAvailable()) {
+            return;
+        }
+        book.setCopies(copies);
+        book.setAvailable(available);
+        eventPublisher.publishEvent(new BookAvailabilityDTO(book.getId(), copies, available, book.getVersion() + 1));
+    }
+}
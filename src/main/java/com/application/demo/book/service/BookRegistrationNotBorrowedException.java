@@ -0,0 +1,13 @@
+package com.application.demo.book.service;
+
+/**
+ * Thrown when returning a registration whose book is not, or no longer, borrowed.
+ */
+public class BookRegistrationNotBorrowedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BookRegistrationNotBorrowedException(Long bookRegistrationId) {
+        super("Book registration " + bookRegistrationId + " is not borrowed");
+    }
+}
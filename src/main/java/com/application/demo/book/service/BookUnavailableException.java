@@ -0,0 +1,13 @@
+package com.application.demo.book.service;
+
+/**
+ * Thrown when a book has not enough copies on the shelf for the requested change.
+ */
+public class BookUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BookUnavailableException(Long bookId) {
+        super("Not enough copies of book " + bookId + " available");
+    }
+}
@@ -0,0 +1,209 @@
+package com.application.demo.book.service;
+
+import com.application.demo.book.config.ApplicationProperties;
+import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.repository.BookRegistrationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Sends a notice to the students whose loan is past its due date, once per loan.
+ * <p>
+ * The overdue loans are claimed in keyset chunks of {@code application.loans.overdue-notices.chunk-size} off the partial
+ * index on the open loans, each chunk in its own short transaction on the primary: no transaction is held while mails
+ * are sent, and a run costs a range scan of the overdue loans only, however many registrations the table holds. A chunk
+ * is locked, skipping the loans another instance is claiming, and claimed before its mails are sent (so that two
+ * instances never notice a loan twice); its loans are given back when the mail server refuses them. Mails go out one
+ * chunk per connection, paced to {@code messages-per-second}; a run stops after {@code max-per-run} loans and leaves the
+ * rest to the next ones.
+ */
+@Service
+public class OverdueLoanNotifier {
+
+    private static final Locale LOCALE = Locale.ENGLISH;
+
+    private static final DateTimeFormatter DUE_DATE_FORMATTER = DateTimeFormatter.ofLocalizedDate(FormatStyle.LONG).withLocale(LOCALE);
+
+    private final Logger log = LoggerFactory.getLogger(OverdueLoanNotifier.class);
+
+    private final BookRegistrationRepository bookRegistrationRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final MessageSource messageSource;
+
+    private final TransactionTemplate writeTransactionTemplate;
+
+    private final ApplicationProperties.Loans.OverdueNotices properties;
+
+    private final String from;
+
+    private final Counter sentCounter;
+
+    private final Counter failedCounter;
+
+    public OverdueLoanNotifier(
+        BookRegistrationRepository bookRegistrationRepository,
+        JavaMailSender javaMailSender,
+        MessageSource messageSource,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        JHipsterProperties jHipsterProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.bookRegistrationRepository = bookRegistrationRepository;
+        this.javaMailSender = javaMailSender;
+        this.messageSource = messageSource;
+        this.writeTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getLoans().getOverdueNotices();
+        this.from = jHipsterProperties.getMail().getFrom();
+        this.sentCounter = Counter.builder("loans.overdue.notices").tag("result", "sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("loans.overdue.notices").tag("result", "failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.loans.overdue-notices.check-interval:PT15M}")
+    public void scheduledNotify() {
+        if (properties.isEnabled()) {
+            notifyOverdueLoans();
+        }
+    }
+
+    /**
+     * Sends the notices of the loans overdue now.
+     *
+     * @return the number of notices sent.
+     */
+    public int notifyOverdueLoans() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        ZonedDateTime afterDueDate = ZonedDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC);
+        long afterId = 0;
+        int read = 0;
+        int sent = 0;
+        while (read < properties.getMaxPerRun() && !Thread.currentThread().isInterrupted()) {
+            int limit = Math.min(properties.getChunkSize(), properties.getMaxPerRun() - read);
+            ZonedDateTime chunkAfterDueDate = afterDueDate;
+            long chunkAfterId = afterId;
+            List<BookRegistration> chunk = writeTransactionTemplate.execute(status ->
+                claimChunk(now, chunkAfterDueDate, chunkAfterId, limit)
+            );
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            read += chunk.size();
+            BookRegistration last = chunk.get(chunk.size() - 1);
+            afterDueDate = last.getDueDate();
+            afterId = last.getId();
+            sent += notifyChunk(chunk);
+            if (chunk.size() < limit) {
+                break;
+            }
+        }
+        if (read > 0) {
+            log.info("Sent {} overdue notices for {} overdue loans", sent, read);
+        }
+        return sent;
+    }
+
+    /**
+     * Claims the next overdue loans: they are locked first, so that the claim takes all of them.
+     */
+    private List<BookRegistration> claimChunk(ZonedDateTime now, ZonedDateTime afterDueDate, long afterId, int limit) {
+        List<Long> ids = bookRegistrationRepository.lockOverdueAfter(now, afterDueDate, afterId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        bookRegistrationRepository.claimOverdueNotices(ids, now, Instant.now());
+        return bookRegistrationRepository.findAllWithBookByIdIn(ids);
+    }
+
+    private int notifyChunk(List<BookRegistration> chunk) {
+        // the failed messages are reported by identity: two notices may well be equal
+        Map<SimpleMailMessage, Long> messages = new IdentityHashMap<>();
+        for (BookRegistration bookRegistration : chunk) {
+            if (bookRegistration.getStudentId() == null) {
+                log.debug("No student to send the overdue notice of BookRegistration {} to", bookRegistration.getId());
+                continue;
+            }
+            messages.put(createMessage(bookRegistration), bookRegistration.getId());
+        }
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        List<Long> failed = new ArrayList<>();
+        try {
+            javaMailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().keySet().forEach(message -> failed.add(messages.get(message)));
+            if (failed.isEmpty()) {
+                failed.addAll(messages.values());
+            }
+            log.warn("{} of {} overdue notices not sent: {}", failed.size(), messages.size(), e.getMessage());
+        } catch (MailException e) {
+            failed.addAll(messages.values());
+            log.warn("Overdue notices not sent: {}", e.getMessage());
+        }
+        if (!failed.isEmpty()) {
+            writeTransactionTemplate.executeWithoutResult(status -> bookRegistrationRepository.releaseOverdueNotices(failed));
+        }
+        sentCounter.increment(messages.size() - failed.size());
+        failedCounter.increment(failed.size());
+        pace(start, messages.size());
+        return messages.size() - failed.size();
+    }
+
+    private SimpleMailMessage createMessage(BookRegistration bookRegistration) {
+        String studentId = bookRegistration.getStudentId();
+        String title = bookRegistration.getBook() == null ? "" : bookRegistration.getBook().getTitle();
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(studentId + "@" + properties.getStudentEmailDomain());
+        message.setSubject(messageSource.getMessage("email.overdue.title", new Object[] { title }, LOCALE));
+        message.setText(
+            messageSource.getMessage(
+                "email.overdue.text",
+                new Object[] { studentId, title, DUE_DATE_FORMATTER.format(bookRegistration.getDueDate()) },
+                LOCALE
+            )
+        );
+        return message;
+    }
+
+    /**
+     * Waits until {@code messages} mails have taken their share of {@code messages-per-second} since {@code start}.
+     */
+    private void pace(long start, int messages) {
+        long minimumNanos = (long) (messages * 1_000_000_000L / properties.getMessagesPerSecond());
+        long remainingNanos = minimumNanos - (System.nanoTime() - start);
+        if (remainingNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(remainingNanos / 1_000_000, (int) (remainingNanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.application.demo.book.service;
+
+import com.application.demo.book.config.ApplicationProperties;
+import com.application.demo.book.repository.BookRegistrationPartitionRepository;
+import com.application.demo.book.repository.BookRegistrationRepository;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the monthly partitions of {@code book_registration} and archives the closed registrations.
+ * <p>
+ * Every run creates the partitions of the next {@code application.archive.partitions-ahead} months, so that new
+ * registrations never land in the default partition. When archival is enabled, the returned and cancelled registrations
+ * requested before {@code horizon} are then moved to {@code book_registration_archive} in batches of {@code batch-size},
+ * each batch in its own short transaction, and the monthly partitions left empty behind the horizon are dropped: the live
+ * table, and the number of partitions every lookup by id goes through, stay bounded by the horizon.
+ */
+@Service
+public class RegistrationArchiver {
+
+    private final Logger log = LoggerFactory.getLogger(RegistrationArchiver.class);
+
+    private final BookRegistrationRepository bookRegistrationRepository;
+
+    private final BookRegistrationPartitionRepository bookRegistrationPartitionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Archive properties;
+
+    public RegistrationArchiver(
+        BookRegistrationRepository bookRegistrationRepository,
+        BookRegistrationPartitionRepository bookRegistrationPartitionRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.bookRegistrationRepository = bookRegistrationRepository;
+        this.bookRegistrationPartitionRepository = bookRegistrationPartitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getArchive();
+    }
+
+    @Scheduled(fixedDelayString = "${application.archive.interval:PT6H}")
+    public void scheduledMaintenance() {
+        createPartitionsAhead();
+        if (properties.isEnabled()) {
+            archive();
+        }
+    }
+
+    /**
+     * Creates the partitions of this month and of the next {@code partitions-ahead} ones, if missing.
+     */
+    public void createPartitionsAhead() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        List<YearMonth> partitions = bookRegistrationPartitionRepository.findMonthlyPartitions();
+        for (int i = 0; i <= properties.getPartitionsAhead(); i++, month = month.plusMonths(1)) {
+            if (partitions.contains(month)) {
+                continue;
+            }
+            YearMonth partition = month;
+            try {
+                Integer moved = transactionTemplate.execute(status ->
+                    bookRegistrationPartitionRepository.createMonthlyPartition(partition)
+                );
+                log.info("Created the book_registration partition of {}, moving {} registrations out of the default one", partition, moved);
+            } catch (DataAccessException e) {
+                // left for the next run
+                log.warn("Could not create the book_registration partition of {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Archives the closed registrations past the horizon, then drops the monthly partitions left empty.
+     *
+     * @return the number of registrations archived.
+     */
+    public int archive() {
+        ZonedDateTime horizon = ZonedDateTime.now(ZoneOffset.UTC).minus(properties.getHorizon());
+        int archived = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer count = transactionTemplate.execute(status ->
+                bookRegistrationRepository.archiveClosedBefore(horizon, Instant.now(), properties.getBatchSize())
+            );
+            archived += count;
+            if (count < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} book registrations requested before {}", archived, horizon);
+        }
+        dropEmptyPartitionsBefore(YearMonth.from(horizon));
+        return archived;
+    }
+
+    /**
+     * Drops the monthly partitions entirely before {@code horizonMonth} that hold no registration any more.
+     */
+    private void dropEmptyPartitionsBefore(YearMonth horizonMonth) {
+        for (YearMonth month : bookRegistrationPartitionRepository.findMonthlyPartitions()) {
+            if (!month.isBefore(horizonMonth)) {
+                continue;
+            }
+            try {
+                Boolean dropped = transactionTemplate.execute(status ->
+                    bookRegistrationPartitionRepository.dropMonthlyPartitionIfEmpty(month)
+                );
+                if (Boolean.TRUE.equals(dropped)) {
+                    log.info("Dropped the empty book_registration partition of {}", month);
+                }
+            } catch (DataAccessException e) {
+                // left for the next run, as when the lock could not be taken in time
+                log.warn("Could not drop the book_registration partition of {}: {}", month, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.application.demo.book.service;
+
+import com.application.demo.book.domain.CategoryType;
+import com.application.demo.book.domain.CategoryTypeRegistrationCount;
+import com.application.demo.book.domain.DailyBorrowCount;
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import com.application.demo.book.domain.RegistrationStatusCount;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.domain.enumeration.RegistrationEventType;
+import com.application.demo.book.repository.CategoryTypeRegistrationCountRepository;
+import com.application.demo.book.repository.CategoryTypeRepository;
+import com.application.demo.book.repository.DailyBorrowCountRepository;
+import com.application.demo.book.repository.RegistrationStatusCountRepository;
+import com.application.demo.book.service.dto.CategoryTypeStatisticsDTO;
+import com.application.demo.book.service.dto.LibraryStatisticsDTO;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service maintaining and reading the counters of the book registrations: per status, per category type and borrows per day.
+ * <p>
+ * The counters are folded from the outbox events by {@link com.application.demo.book.service.outbox.RegistrationOutboxRelay},
+ * in the transaction marking them as published, so every change is counted exactly once and the writes of the
+ * registrations never wait on a shared counter row. They lag the registrations by the relay interval.
+ */
+@Service
+public class RegistrationStatisticsService {
+
+    private final Logger log = LoggerFactory.getLogger(RegistrationStatisticsService.class);
+
+    private final RegistrationStatusCountRepository registrationStatusCountRepository;
+
+    private final CategoryTypeRegistrationCountRepository categoryTypeRegistrationCountRepository;
+
+    private final DailyBorrowCountRepository dailyBorrowCountRepository;
+
+    private final CategoryTypeRepository categoryTypeRepository;
+
+    public RegistrationStatisticsService(
+        RegistrationStatusCountRepository registrationStatusCountRepository,
+        CategoryTypeRegistrationCountRepository categoryTypeRegistrationCountRepository,
+        DailyBorrowCountRepository dailyBorrowCountRepository,
+        CategoryTypeRepository categoryTypeRepository
+    ) {
+        this.registrationStatusCountRepository = registrationStatusCountRepository;
+        this.categoryTypeRegistrationCountRepository = categoryTypeRegistrationCountRepository;
+        this.dailyBorrowCountRepository = dailyBorrowCountRepository;
+        this.categoryTypeRepository = categoryTypeRepository;
+    }
+
+    /**
+     * Adds a batch of registration changes to the counters.
+     * <p>
+     * The changes are summed up first, so a batch costs one statement per counter row it moves; the rows are updated
+     * in key order, so that two relays never wait on each other's rows crosswise.
+     *
+     * @param events the changes, in the order they happened.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(List<RegistrationOutboxEvent> events) {
+        SortedMap<BookStatus, Long> statusDeltas = new TreeMap<>();
+        SortedMap<Long, Long> categoryTypeDeltas = new TreeMap<>();
+        SortedMap<LocalDate, Long> borrowDeltas = new TreeMap<>();
+        for (RegistrationOutboxEvent event : events) {
+            BookStatus previousStatus = event.getEventType() == RegistrationEventType.CREATED ? null : event.getPreviousStatus();
+            BookStatus status = event.getEventType() == RegistrationEventType.DELETED ? null : event.getStatus();
+            if (previousStatus != status) {
+                add(statusDeltas, previousStatus, -1);
+                add(statusDeltas, status, 1);
+                if (status == BookStatus.BORROW) {
+                    add(borrowDeltas, LocalDate.ofInstant(event.getOccurredAt(), ZoneOffset.UTC), 1);
+                }
+            }
+            // the category types were recorded with the event: a registration moved to another book moves them too
+            if (event.getEventType() != RegistrationEventType.CREATED) {
+                add(categoryTypeDeltas, event.getPreviousCategoryTypeId(), -1);
+            }
+            if (event.getEventType() != RegistrationEventType.DELETED) {
+                add(categoryTypeDeltas, event.getCategoryTypeId(), 1);
+            }
+        }
+
+        statusDeltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                registrationStatusCountRepository.add(status.name(), delta);
+            }
+        });
+        categoryTypeDeltas.forEach((categoryTypeId, delta) -> {
+            if (delta != 0) {
+                categoryTypeRegistrationCountRepository.add(categoryTypeId, delta);
+            }
+        });
+        borrowDeltas.forEach(dailyBorrowCountRepository::add);
+        log.debug("Applied {} registration events to the statistics", events.size());
+    }
+
+    /**
+     * Reads the counters; a handful of rows whatever the number of registrations.
+     *
+     * @param days the number of days of borrows to return, today included.
+     * @return the counters.
+     */
+    @Transactional(readOnly = true)
+    public LibraryStatisticsDTO getStatistics(int days) {
+        Map<BookStatus, Long> registrationsByStatus = new EnumMap<>(BookStatus.class);
+        for (BookStatus status : BookStatus.values()) {
+            registrationsByStatus.put(status, 0L);
+        }
+        for (RegistrationStatusCount count : registrationStatusCountRepository.findAll()) {
+            registrationsByStatus.put(count.getRequestStatus(), count.getRegistrations());
+        }
+
+        List<CategoryTypeRegistrationCount> categoryTypeCounts = categoryTypeRegistrationCountRepository.findAll();
+        Map<Long, String> titles = categoryTypeRepository
+            .findAllById(categoryTypeCounts.stream().map(CategoryTypeRegistrationCount::getCategoryTypeId).toList())
+            .stream()
+            .collect(Collectors.toMap(CategoryType::getId, CategoryType::getTitle));
+        List<CategoryTypeStatisticsDTO> registrationsByCategoryType = categoryTypeCounts
+            .stream()
+            .filter(count -> count.getRegistrations() != 0)
+            .sorted(Comparator.comparing(CategoryTypeRegistrationCount::getCategoryTypeId))
+            .map(count ->
+                new CategoryTypeStatisticsDTO(count.getCategoryTypeId(), titles.get(count.getCategoryTypeId()), count.getRegistrations())
+            )
+            .toList();
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = today.minusDays(days - 1L);
+        Map<LocalDate, Long> borrows = dailyBorrowCountRepository
+            .findAllByBorrowDateGreaterThanEqualOrderByBorrowDate(from)
+            .stream()
+            .collect(Collectors.toMap(DailyBorrowCount::getBorrowDate, DailyBorrowCount::getBorrows));
+        Map<LocalDate, Long> borrowsPerDay = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            borrowsPerDay.put(day, borrows.getOrDefault(day, 0L));
+        }
+
+        return new LibraryStatisticsDTO(registrationsByStatus, registrationsByCategoryType, borrowsPerDay);
+    }
+
+    private static <K> void add(Map<K, Long> deltas, K key, long delta) {
+        if (key != null) {
+            deltas.merge(key, delta, Long::sum);
+        }
+    }
+}
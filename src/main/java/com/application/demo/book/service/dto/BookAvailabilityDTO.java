@@ -0,0 +1,81 @@
+package com.application.demo.book.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The copies of a {@link com.application.demo.book.domain.Book} on the shelf, published after every change of them, with
+ * the version of the book the change is committed with: of two states of a book, the one of the higher version is the
+ * latest, whatever order they are received in.
+ */
+public class BookAvailabilityDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long bookId;
+
+    private Integer copies;
+
+    private Integer available;
+
+    private Long version;
+
+    public BookAvailabilityDTO() {}
+
+    public BookAvailabilityDTO(Long bookId, Integer copies, Integer available, Long version) {
+        this.bookId = bookId;
+        this.copies = copies;
+        this.available = available;
+        this.version = version;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public Integer getCopies() {
+        return copies;
+    }
+
+    public void setCopies(Integer copies) {
+        this.copies = copies;
+    }
+
+    public Integer getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Integer available) {
+        this.available = available;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Whether this state of the book is at least as recent as {@code other}: the later one wins between two changes of the
+     * same transaction.
+     */
+    public boolean isNotOlderThan(BookAvailabilityDTO other) {
+        return version == null || other.version == null || version >= other.version;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookAvailabilityDTO{" +
+            "bookId=" + getBookId() +
+            ", copies=" + getCopies() +
+            ", available=" + getAvailable() +
+            ", version=" + getVersion() +
+            "}";
+    }
+}
@@ -0,0 +1,58 @@
+package com.application.demo.book.service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+
+/**
+ * A request of a student to borrow a copy of a book.
+ */
+public class BookBorrowRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private Long bookId;
+
+    @NotBlank
+    @Size(max = 255)
+    private String studentId;
+
+    @Size(max = 500)
+    private String remarks;
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookBorrowRequest{" +
+            "bookId=" + getBookId() +
+            ", studentId='" + getStudentId() + "'" +
+            ", remarks='" + getRemarks() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,118 @@
+package com.application.demo.book.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A read-only DTO for the {@link com.application.demo.book.domain.Book} entity, with its category type.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BookDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String author;
+
+    private String title;
+
+    private String description;
+
+    private Integer copies;
+
+    private Integer available;
+
+    private CategoryTypeDTO categoryType;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Integer getCopies() {
+        return copies;
+    }
+
+    public void setCopies(Integer copies) {
+        this.copies = copies;
+    }
+
+    public Integer getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Integer available) {
+        this.available = available;
+    }
+
+    public CategoryTypeDTO getCategoryType() {
+        return categoryType;
+    }
+
+    public void setCategoryType(CategoryTypeDTO categoryType) {
+        this.categoryType = categoryType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookDTO)) {
+            return false;
+        }
+
+        BookDTO bookDTO = (BookDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, bookDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookDTO{" +
+            "id=" + getId() +
+            ", author='" + getAuthor() + "'" +
+            ", title='" + getTitle() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", copies=" + getCopies() +
+            ", available=" + getAvailable() +
+            ", categoryType=" + getCategoryType() +
+            "}";
+    }
+}
@@ -0,0 +1,145 @@
+package com.application.demo.book.service.dto;
+
+import com.application.demo.book.domain.enumeration.BookStatus;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * A read-only DTO for the {@link com.application.demo.book.domain.BookRegistration} entity, with its book.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BookRegistrationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String studentId;
+
+    private ZonedDateTime requestDate;
+
+    private BookStatus requestStatus;
+
+    private ZonedDateTime returnDate;
+
+    private String remarks;
+
+    private ZonedDateTime dueDate;
+
+    private boolean archived;
+
+    private BookDTO book;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public ZonedDateTime getRequestDate() {
+        return requestDate;
+    }
+
+    public void setRequestDate(ZonedDateTime requestDate) {
+        this.requestDate = requestDate;
+    }
+
+    public BookStatus getRequestStatus() {
+        return requestStatus;
+    }
+
+    public void setRequestStatus(BookStatus requestStatus) {
+        this.requestStatus = requestStatus;
+    }
+
+    public ZonedDateTime getReturnDate() {
+        return returnDate;
+    }
+
+    public void setReturnDate(ZonedDateTime returnDate) {
+        this.returnDate = returnDate;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+
+    public ZonedDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(ZonedDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    /**
+     * Whether the registration was read from the archive, see {@code RegistrationArchiver}.
+     */
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    public BookDTO getBook() {
+        return book;
+    }
+
+    public void setBook(BookDTO book) {
+        this.book = book;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookRegistrationDTO)) {
+            return false;
+        }
+
+        BookRegistrationDTO bookRegistrationDTO = (BookRegistrationDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, bookRegistrationDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookRegistrationDTO{" +
+            "id=" + getId() +
+            ", studentId='" + getStudentId() + "'" +
+            ", requestDate='" + getRequestDate() + "'" +
+            ", requestStatus='" + getRequestStatus() + "'" +
+            ", returnDate='" + getReturnDate() + "'" +
+            ", remarks='" + getRemarks() + "'" +
+            ", dueDate='" + getDueDate() + "'" +
+            ", archived='" + isArchived() + "'" +
+            ", book=" + getBook() +
+            "}";
+    }
+}
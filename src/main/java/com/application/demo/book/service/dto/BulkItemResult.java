@@ -0,0 +1,82 @@
+package com.application.demo.book.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The outcome of one item of a bulk request, identified by its position in the request.
+ */
+public class BulkItemResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        INVALID,
+        NOT_FOUND,
+        FAILED,
+    }
+
+    private final int index;
+
+    private final Long id;
+
+    private final Status status;
+
+    private final List<String> errors;
+
+    public BulkItemResult(int index, Long id, Status status, List<String> errors) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.errors = errors;
+    }
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, id, Status.CREATED, List.of());
+    }
+
+    public static BulkItemResult updated(int index, Long id) {
+        return new BulkItemResult(index, id, Status.UPDATED, List.of());
+    }
+
+    public static BulkItemResult invalid(int index, Long id, List<String> errors) {
+        return new BulkItemResult(index, id, Status.INVALID, errors);
+    }
+
+    public static BulkItemResult notFound(int index, Long id) {
+        return new BulkItemResult(index, id, Status.NOT_FOUND, List.of("Entity not found"));
+    }
+
+    public static BulkItemResult failed(int index, Long id, String error) {
+        return new BulkItemResult(index, id, Status.FAILED, List.of(error));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResult{" +
+            "index=" + getIndex() +
+            ", id=" + getId() +
+            ", status='" + getStatus() + "'" +
+            ", errors=" + getErrors() +
+            "}";
+    }
+}
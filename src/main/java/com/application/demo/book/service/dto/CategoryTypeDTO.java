@@ -0,0 +1,74 @@
+package com.application.demo.book.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A read-only DTO for the {@link com.application.demo.book.domain.CategoryType} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CategoryTypeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CategoryTypeDTO)) {
+            return false;
+        }
+
+        CategoryTypeDTO categoryTypeDTO = (CategoryTypeDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, categoryTypeDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CategoryTypeDTO{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", description='" + getDescription() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,59 @@
+package com.application.demo.book.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The number of registrations of the books of a {@link com.application.demo.book.domain.CategoryType}.
+ */
+public class CategoryTypeStatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long categoryTypeId;
+
+    private String title;
+
+    private long registrations;
+
+    public CategoryTypeStatisticsDTO() {}
+
+    public CategoryTypeStatisticsDTO(Long categoryTypeId, String title, long registrations) {
+        this.categoryTypeId = categoryTypeId;
+        this.title = title;
+        this.registrations = registrations;
+    }
+
+    public Long getCategoryTypeId() {
+        return categoryTypeId;
+    }
+
+    public void setCategoryTypeId(Long categoryTypeId) {
+        this.categoryTypeId = categoryTypeId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public long getRegistrations() {
+        return registrations;
+    }
+
+    public void setRegistrations(long registrations) {
+        this.registrations = registrations;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CategoryTypeStatisticsDTO{" +
+            "categoryTypeId=" + getCategoryTypeId() +
+            ", title='" + getTitle() + "'" +
+            ", registrations=" + getRegistrations() +
+            "}";
+    }
+}
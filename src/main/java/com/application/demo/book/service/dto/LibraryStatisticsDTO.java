@@ -0,0 +1,70 @@
+package com.application.demo.book.service.dto;
+
+import com.application.demo.book.domain.enumeration.BookStatus;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The counters of the book registrations shown on the management dashboards.
+ */
+public class LibraryStatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Map<BookStatus, Long> registrationsByStatus;
+
+    private List<CategoryTypeStatisticsDTO> registrationsByCategoryType;
+
+    private Map<LocalDate, Long> borrowsPerDay;
+
+    public LibraryStatisticsDTO() {}
+
+    public LibraryStatisticsDTO(
+        Map<BookStatus, Long> registrationsByStatus,
+        List<CategoryTypeStatisticsDTO> registrationsByCategoryType,
+        Map<LocalDate, Long> borrowsPerDay
+    ) {
+        this.registrationsByStatus = registrationsByStatus;
+        this.registrationsByCategoryType = registrationsByCategoryType;
+        this.borrowsPerDay = borrowsPerDay;
+    }
+
+    public Map<BookStatus, Long> getRegistrationsByStatus() {
+        return registrationsByStatus;
+    }
+
+    public void setRegistrationsByStatus(Map<BookStatus, Long> registrationsByStatus) {
+        this.registrationsByStatus = registrationsByStatus;
+    }
+
+    public List<CategoryTypeStatisticsDTO> getRegistrationsByCategoryType() {
+        return registrationsByCategoryType;
+    }
+
+    public void setRegistrationsByCategoryType(List<CategoryTypeStatisticsDTO> registrationsByCategoryType) {
+        this.registrationsByCategoryType = registrationsByCategoryType;
+    }
+
+    /**
+     * The borrows of every day (UTC) of the requested period, oldest first; days without borrows are included with {@code 0}.
+     */
+    public Map<LocalDate, Long> getBorrowsPerDay() {
+        return borrowsPerDay;
+    }
+
+    public void setBorrowsPerDay(Map<LocalDate, Long> borrowsPerDay) {
+        this.borrowsPerDay = borrowsPerDay;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LibraryStatisticsDTO{" +
+            "registrationsByStatus=" + getRegistrationsByStatus() +
+            ", registrationsByCategoryType=" + getRegistrationsByCategoryType() +
+            ", borrowsPerDay=" + getBorrowsPerDay() +
+            "}";
+    }
+}
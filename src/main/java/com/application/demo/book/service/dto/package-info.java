@@ -0,0 +1,4 @@
+/**
+ * Data transfer objects for rest endpoints.
+ */
+package com.application.demo.book.service.dto;
@@ -0,0 +1,19 @@
+package com.application.demo.book.service.mapper;
+
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.service.dto.BookDTO;
+import java.util.List;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link Book} and its DTO {@link BookDTO}.
+ * <p>
+ * Reads {@code categoryType}: fetch it with the books (see the entity graphs of {@code BookRepository}) to avoid a
+ * select per book.
+ */
+@Mapper(componentModel = "spring", uses = CategoryTypeMapper.class)
+public interface BookMapper {
+    BookDTO toDto(Book book);
+
+    List<BookDTO> toDto(List<Book> books);
+}
@@ -0,0 +1,27 @@
+package com.application.demo.book.service.mapper;
+
+import com.application.demo.book.domain.ArchivedBookRegistration;
+import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.service.dto.BookRegistrationDTO;
+import java.util.List;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper for the entities {@link BookRegistration} and {@link ArchivedBookRegistration} and their DTO {@link BookRegistrationDTO}.
+ * <p>
+ * Reads {@code book} and its {@code categoryType}: fetch them with the registrations (see the entity graphs of
+ * {@code BookRegistrationRepository}) to avoid selects per registration.
+ */
+@Mapper(componentModel = "spring", uses = BookMapper.class)
+public interface BookRegistrationMapper {
+    @Mapping(target = "archived", constant = "false")
+    BookRegistrationDTO toDto(BookRegistration bookRegistration);
+
+    List<BookRegistrationDTO> toDto(List<BookRegistration> bookRegistrations);
+
+    @Mapping(target = "archived", constant = "true")
+    BookRegistrationDTO toDto(ArchivedBookRegistration archivedBookRegistration);
+
+    List<BookRegistrationDTO> toDtoFromArchive(List<ArchivedBookRegistration> archivedBookRegistrations);
+}
@@ -0,0 +1,16 @@
+package com.application.demo.book.service.mapper;
+
+import com.application.demo.book.domain.CategoryType;
+import com.application.demo.book.service.dto.CategoryTypeDTO;
+import java.util.List;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link CategoryType} and its DTO {@link CategoryTypeDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface CategoryTypeMapper {
+    CategoryTypeDTO toDto(CategoryType categoryType);
+
+    List<CategoryTypeDTO> toDto(List<CategoryType> categoryTypes);
+}
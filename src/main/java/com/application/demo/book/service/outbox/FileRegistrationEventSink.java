@@ -0,0 +1,48 @@
+package com.application.demo.book.service.outbox;
+
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the events to a file, one JSON document per line, for consumers tailing it.
+ * <p>
+ * The file is synced before a batch counts as published; a batch sent again after a failure may appear twice.
+ */
+public class FileRegistrationEventSink implements RegistrationEventSink {
+
+    private final Path file;
+
+    private final ObjectWriter writer;
+
+    public FileRegistrationEventSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.writer = objectMapper.writerFor(RegistrationOutboxEvent.class);
+    }
+
+    @Override
+    public synchronized void publish(List<RegistrationOutboxEvent> events) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        try (
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+        ) {
+            OutputStream outputStream = Channels.newOutputStream(channel);
+            for (RegistrationOutboxEvent event : events) {
+                outputStream.write(writer.writeValueAsBytes(event));
+                outputStream.write('\n');
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.application.demo.book.service.outbox;
+
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the events in memory, for the tests.
+ */
+public class InMemoryRegistrationEventSink implements RegistrationEventSink {
+
+    private final List<RegistrationOutboxEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<RegistrationOutboxEvent> events) {
+        this.events.addAll(events);
+    }
+
+    public List<RegistrationOutboxEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
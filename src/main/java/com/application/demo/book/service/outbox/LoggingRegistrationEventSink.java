@@ -0,0 +1,21 @@
+package com.application.demo.book.service.outbox;
+
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the events to the application log, for when no consumer is set up yet.
+ */
+public class LoggingRegistrationEventSink implements RegistrationEventSink {
+
+    private final Logger log = LoggerFactory.getLogger(LoggingRegistrationEventSink.class);
+
+    @Override
+    public void publish(List<RegistrationOutboxEvent> events) {
+        for (RegistrationOutboxEvent event : events) {
+            log.info("Registration event: {}", event);
+        }
+    }
+}
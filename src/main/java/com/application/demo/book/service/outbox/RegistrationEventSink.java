@@ -0,0 +1,14 @@
+package com.application.demo.book.service.outbox;
+
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import java.util.List;
+
+/**
+ * Destination of the registration events relayed from the outbox.
+ * <p>
+ * A batch counts as published once this returns; when it throws, the whole batch is sent again later, so consumers
+ * must tolerate duplicates (the event id identifies them).
+ */
+public interface RegistrationEventSink {
+    void publish(List<RegistrationOutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,88 @@
+package com.application.demo.book.service.outbox;
+
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.domain.enumeration.RegistrationEventType;
+import com.application.demo.book.repository.BookRepository;
+import com.application.demo.book.repository.RegistrationOutboxEventRepository;
+import java.time.Instant;
+import java.util.Objects;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records the changes of {@link BookRegistration}s in the outbox.
+ * <p>
+ * Must be called in the transaction writing the registration: the event is committed, or rolled back, with the change.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class RegistrationOutbox {
+
+    private final RegistrationOutboxEventRepository registrationOutboxEventRepository;
+
+    private final BookRepository bookRepository;
+
+    public RegistrationOutbox(RegistrationOutboxEventRepository registrationOutboxEventRepository, BookRepository bookRepository) {
+        this.registrationOutboxEventRepository = registrationOutboxEventRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    public void created(BookRegistration bookRegistration) {
+        record(RegistrationEventType.CREATED, bookRegistration, null, null);
+    }
+
+    /**
+     * @param previousStatus the status of the registration before the change.
+     * @param previousBookId the id of the book of the registration before the change.
+     */
+    public void updated(BookRegistration bookRegistration, BookStatus previousStatus, Long previousBookId) {
+        Long bookId = bookRegistration.getBook() == null ? null : bookRegistration.getBook().getId();
+        Long previousCategoryTypeId = Objects.equals(previousBookId, bookId)
+            ? categoryTypeIdOf(bookRegistration.getBook())
+            : categoryTypeIdOf(previousBookId == null ? null : bookRepository.findById(previousBookId).orElse(null));
+        record(RegistrationEventType.UPDATED, bookRegistration, previousStatus, previousCategoryTypeId);
+    }
+
+    public void deleted(BookRegistration bookRegistration) {
+        record(
+            RegistrationEventType.DELETED,
+            bookRegistration,
+            bookRegistration.getRequestStatus(),
+            categoryTypeIdOf(bookRegistration.getBook())
+        );
+    }
+
+    /**
+     * The category types are those of the books now, in the transaction of the change: the counters of the category
+     * types move with the registrations as they were, whatever happens to the books before the event is relayed.
+     */
+    private void record(
+        RegistrationEventType eventType,
+        BookRegistration bookRegistration,
+        BookStatus previousStatus,
+        Long previousCategoryTypeId
+    ) {
+        boolean deleted = eventType == RegistrationEventType.DELETED;
+        registrationOutboxEventRepository.save(
+            new RegistrationOutboxEvent()
+                .eventType(eventType)
+                .registrationId(bookRegistration.getId())
+                // the id of a lazy book is read off the proxy, without loading the book
+                .bookId(bookRegistration.getBook() == null ? null : bookRegistration.getBook().getId())
+                .categoryTypeId(deleted ? null : categoryTypeIdOf(bookRegistration.getBook()))
+                .previousCategoryTypeId(previousCategoryTypeId)
+                .studentId(bookRegistration.getStudentId())
+                .previousStatus(previousStatus)
+                .status(deleted ? null : bookRegistration.getRequestStatus())
+                .occurredAt(Instant.now())
+        );
+    }
+
+    private static Long categoryTypeIdOf(Book book) {
+        return book == null || book.getCategoryType() == null ? null : book.getCategoryType().getId();
+    }
+}
@@ -0,0 +1,148 @@
+package com.application.demo.book.service.outbox;
+
+import com.application.demo.book.config.ApplicationProperties;
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import com.application.demo.book.repository.RegistrationOutboxEventRepository;
+import com.application.demo.book.service.RegistrationStatisticsService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the registration outbox into the {@link RegistrationEventSink}, in batches of {@code application.outbox.batch-size}.
+ * <p>
+ * A batch is locked, published, added to the registration statistics and marked as published in one transaction: when
+ * the sink fails, the batch is unlocked untouched and sent again on the next run (at-least-once delivery, in id order on
+ * a single instance), while the statistics count it exactly once.
+ * <p>
+ * The published events are kept for {@code application.outbox.retention}, then deleted every {@code purge-interval}.
+ */
+@Service
+public class RegistrationOutboxRelay {
+
+    /**
+     * Keeps a large backlog from holding a scheduler thread for long; the rest is drained on the next runs.
+     */
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    /**
+     * Published events deleted per transaction.
+     */
+    private static final int PURGE_BATCH_SIZE = 1_000;
+
+    private final Logger log = LoggerFactory.getLogger(RegistrationOutboxRelay.class);
+
+    private final RegistrationOutboxEventRepository registrationOutboxEventRepository;
+
+    private final RegistrationEventSink registrationEventSink;
+
+    private final RegistrationStatisticsService registrationStatisticsService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final Duration retention;
+
+    public RegistrationOutboxRelay(
+        RegistrationOutboxEventRepository registrationOutboxEventRepository,
+        RegistrationEventSink registrationEventSink,
+        RegistrationStatisticsService registrationStatisticsService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.registrationOutboxEventRepository = registrationOutboxEventRepository;
+        this.registrationEventSink = registrationEventSink;
+        this.registrationStatisticsService = registrationStatisticsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = applicationProperties.getOutbox().getBatchSize();
+        this.retention = applicationProperties.getOutbox().getRetention();
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.relay-interval:PT1S}")
+    public void scheduledRelay() {
+        relay();
+    }
+
+    /**
+     * Publishes the waiting events, batch after batch.
+     *
+     * @return the number of events published.
+     */
+    public int relay() {
+        int published = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            Integer count;
+            try {
+                count = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                log.warn("Registration events not published, retrying on the next run: {}", e.getMessage());
+                break;
+            }
+            published += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (published > 0) {
+            log.debug("Published {} registration events", published);
+        }
+        return published;
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.purge-interval:PT1H}")
+    public void scheduledPurge() {
+        purge();
+    }
+
+    /**
+     * Deletes the events published longer than {@code retention} ago, batch after batch.
+     *
+     * @return the number of events deleted.
+     */
+    public int purge() {
+        Instant before = Instant.now().minus(retention);
+        int purged = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer count;
+            try {
+                count = transactionTemplate.execute(status ->
+                    registrationOutboxEventRepository.deletePublishedBefore(before, PURGE_BATCH_SIZE)
+                );
+            } catch (DataAccessException e) {
+                log.warn("Published registration events not purged, retrying on the next run: {}", e.getMessage());
+                break;
+            }
+            purged += count;
+            if (count < PURGE_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.debug("Purged {} registration events published before {}", purged, before);
+        }
+        return purged;
+    }
+
+    private int relayBatch() {
+        List<RegistrationOutboxEvent> events = registrationOutboxEventRepository.lockUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            registrationEventSink.publish(events);
+        } catch (Exception e) {
+            throw new IllegalStateException("Sink failed: " + e.getMessage(), e);
+        }
+        registrationStatisticsService.apply(events);
+        registrationOutboxEventRepository.markPublished(events.stream().map(RegistrationOutboxEvent::getId).toList(), Instant.now());
+        return events.size();
+    }
+}
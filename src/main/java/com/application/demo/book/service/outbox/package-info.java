@@ -0,0 +1,4 @@
+/**
+ * Transactional outbox of the book registration changes.
+ */
+package com.application.demo.book.service.outbox;
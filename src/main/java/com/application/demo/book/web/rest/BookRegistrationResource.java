@@ -1,27 +1,64 @@
 package com.application.demo.book.web.rest;
 
+import com.application.demo.book.domain.ArchivedBookRegistration;
 import com.application.demo.book.domain.Book;
 import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.repository.ArchivedBookRegistrationRepository;
 import com.application.demo.book.repository.BookRegistrationRepository;
 import com.application.demo.book.repository.BookRepository;
+import com.application.demo.book.service.BookLoanService;
+import com.application.demo.book.service.BookRegistrationNotBorrowedException;
+import com.application.demo.book.service.BookUnavailableException;
+import com.application.demo.book.service.dto.BookBorrowRequest;
+import com.application.demo.book.service.dto.BookRegistrationDTO;
+import com.application.demo.book.service.mapper.BookRegistrationMapper;
+import com.application.demo.book.service.outbox.RegistrationOutbox;
 import com.application.demo.book.web.rest.base.BaseResponse;
+import com.application.demo.book.web.rest.base.SparseFields;
 import com.application.demo.book.web.rest.errors.BadRequestAlertException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 import javax.swing.text.html.Option;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -37,15 +74,57 @@ public class BookRegistrationResource {
 
     private static final String ENTITY_NAME = "bookBookRegistration";
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final String CSV_HEADER = "id,studentId,requestDate,requestStatus,returnDate,remarks,bookId,dueDate";
+
+    private static final Comparator<BookRegistrationDTO> REQUEST_DATE_ORDER = Comparator
+        .comparing(BookRegistrationDTO::getRequestDate, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(BookRegistrationDTO::getId);
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final BookRegistrationRepository bookRegistrationRepository;
     private final BookRepository bookRepository;
 
-    public BookRegistrationResource(BookRegistrationRepository bookRegistrationRepository, BookRepository bookRepository) {
+    private final ArchivedBookRegistrationRepository archivedBookRegistrationRepository;
+
+    private final BookLoanService bookLoanService;
+
+    private final BookRegistrationMapper bookRegistrationMapper;
+
+    private final RegistrationOutbox registrationOutbox;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate exportTransactionTemplate;
+
+    public BookRegistrationResource(
+        BookRegistrationRepository bookRegistrationRepository,
+        BookRepository bookRepository,
+        ArchivedBookRegistrationRepository archivedBookRegistrationRepository,
+        BookLoanService bookLoanService,
+        BookRegistrationMapper bookRegistrationMapper,
+        RegistrationOutbox registrationOutbox,
+        EntityManager entityManager,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager
+    ) {
         this.bookRegistrationRepository = bookRegistrationRepository;
         this.bookRepository = bookRepository;
+        this.archivedBookRegistrationRepository = archivedBookRegistrationRepository;
+        this.bookLoanService = bookLoanService;
+        this.bookRegistrationMapper = bookRegistrationMapper;
+        this.registrationOutbox = registrationOutbox;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.exportTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.exportTransactionTemplate.setReadOnly(true);
     }
 
     /**
@@ -65,9 +144,53 @@ public class BookRegistrationResource {
             throw new BadRequestAlertException("A new bookRegistration cannot already have an ID", ENTITY_NAME, "idexists");
         }
         BookRegistration result = bookRegistrationRepository.save(bookRegistration);
+        changeLoan(null, null, result);
+        registrationOutbox.created(result);
         return new ResponseEntity<>(new BaseResponse<>(true, "Created successfully.", result), HttpStatus.CREATED);
     }
 
+    /**
+     * {@code POST  /book-registrations/borrow} : Borrow a copy of a book.
+     *
+     * @param request the book to borrow and the student borrowing it.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new bookRegistration,
+     * or with status {@code 400 (Bad Request)} if the book does not exist or no copy of it is available.
+     */
+    @PostMapping("/borrow")
+    public ResponseEntity<?> borrowBook(@RequestHeader HttpHeaders headers, @Valid @RequestBody BookBorrowRequest request) {
+        log.debug("REST request to borrow Book : {}", request);
+        BookRegistration result;
+        try {
+            result = bookLoanService.borrow(request);
+        } catch (EntityNotFoundException e) {
+            throw new BadRequestAlertException("Book not found", ENTITY_NAME, "booknotfound");
+        } catch (BookUnavailableException e) {
+            throw new BadRequestAlertException("No copy of the book is available", ENTITY_NAME, "bookunavailable");
+        }
+        return new ResponseEntity<>(new BaseResponse<>(true, "Borrowed successfully.", result), HttpStatus.CREATED);
+    }
+
+    /**
+     * {@code POST  /book-registrations/:id/return} : Return the copy borrowed with the "id" bookRegistration.
+     *
+     * @param id the id of the bookRegistration of the borrowing.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the returned bookRegistration,
+     * or with status {@code 400 (Bad Request)} if the bookRegistration does not exist or is not borrowed.
+     */
+    @PostMapping("/{id}/return")
+    public ResponseEntity<?> returnBook(@RequestHeader HttpHeaders headers, @PathVariable Long id) {
+        log.debug("REST request to return BookRegistration : {}", id);
+        BookRegistration result;
+        try {
+            result = bookLoanService.returnBook(id);
+        } catch (EntityNotFoundException e) {
+            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        } catch (BookRegistrationNotBorrowedException e) {
+            throw new BadRequestAlertException("The book is not borrowed", ENTITY_NAME, "notborrowed");
+        }
+        return new ResponseEntity<>(new BaseResponse<>(true, "Returned successfully.", result), HttpStatus.OK);
+    }
+
     /**
      * {@code PUT  /book-registrations/:id} : Updates an existing bookRegistration.
      *
@@ -92,11 +215,19 @@ public class BookRegistrationResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!bookRegistrationRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        // read with its row locked, so that a concurrent change or return of the registration does not move the copy twice
+        BookRegistration existingBookRegistration = bookRegistrationRepository
+            .findOneForUpdateById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        BookStatus previousStatus = existingBookRegistration.getRequestStatus();
+        Long previousBookId = bookIdOf(existingBookRegistration);
+        if (bookRegistration.getDueDate() == null) {
+            // the due date is set by the server when the borrowing starts: a client leaving it out keeps it
+            bookRegistration.setDueDate(existingBookRegistration.getDueDate());
         }
-
         BookRegistration result = bookRegistrationRepository.save(bookRegistration);
+        changeLoan(previousBookId, previousStatus, result);
+        registrationOutbox.updated(result, previousStatus, previousBookId);
         return new ResponseEntity<>(new BaseResponse<>(true, "Updated successfully.", result), HttpStatus.OK);
     }
 
@@ -129,13 +260,19 @@ public class BookRegistrationResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Book> book = bookRepository.findById(id);
-
+        // read with its row locked, so that a concurrent change or return of the registration does not move the copy twice
         Optional<BookRegistration> result = bookRegistrationRepository
-            .findById(bookRegistration.getId())
+            .findOneForUpdateById(bookRegistration.getId())
             .map(existingBookRegistration -> {
-                if (bookRegistration.getBook().getId() != null) {
-                    existingBookRegistration.setBook(book.get());
+                BookStatus previousStatus = existingBookRegistration.getRequestStatus();
+                Long previousBookId = bookIdOf(existingBookRegistration);
+                Long bookId = bookIdOf(bookRegistration);
+                if (bookId != null) {
+                    existingBookRegistration.setBook(
+                        bookRepository
+                            .findById(bookId)
+                            .orElseThrow(() -> new BadRequestAlertException("Book not found", ENTITY_NAME, "booknotfound"))
+                    );
                 }
                 if (bookRegistration.getStudentId() != null) {
                     existingBookRegistration.setStudentId(bookRegistration.getStudentId());
@@ -152,6 +289,11 @@ public class BookRegistrationResource {
                 if (bookRegistration.getRemarks() != null) {
                     existingBookRegistration.setRemarks(bookRegistration.getRemarks());
                 }
+                if (bookRegistration.getDueDate() != null) {
+                    existingBookRegistration.setDueDate(bookRegistration.getDueDate());
+                }
+                changeLoan(previousBookId, previousStatus, existingBookRegistration);
+                registrationOutbox.updated(existingBookRegistration, previousStatus, previousBookId);
 
                 return existingBookRegistration;
             })
@@ -161,26 +303,312 @@ public class BookRegistrationResource {
     }
 
     /**
-     * {@code GET  /book-registrations} : get all the bookRegistrations.
+     * Takes or puts back the copy of a registration becoming or no longer being a borrowing, and gives a new borrowing its
+     * due date: the copies on the shelf and the overdue notices follow the registrations written through the CRUD
+     * endpoints too, see {@link BookLoanService#registrationChanged}.
+     */
+    private void changeLoan(Long previousBookId, BookStatus previousStatus, BookRegistration bookRegistration) {
+        try {
+            bookLoanService.registrationChanged(previousBookId, previousStatus, bookRegistration);
+        } catch (EntityNotFoundException e) {
+            throw new BadRequestAlertException("Book not found", ENTITY_NAME, "booknotfound");
+        } catch (BookUnavailableException e) {
+            throw new BadRequestAlertException("No copy of the book is available", ENTITY_NAME, "bookunavailable");
+        }
+    }
+
+    private static Long bookIdOf(BookRegistration bookRegistration) {
+        return bookRegistration.getBook() == null ? null : bookRegistration.getBook().getId();
+    }
+
+    /**
+     * {@code GET  /book-registrations} : get all the bookRegistrations, or the ones requested in a period.
+     * <p>
+     * With a period, only the partitions of the period are read; {@code includeArchived} adds the registrations of the
+     * period moved to the archive.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bookRegistrations in body.
+     * @param from the start of the period (inclusive) of the request dates.
+     * @param to the end of the period (exclusive) of the request dates, none when not given.
+     * @param includeArchived whether to include the archived registrations; requires {@code from}.
+     * @param fields the comma-separated fields of the live bookRegistrations to return, all of them when not given; only
+     * those are read. Not available with {@code includeArchived}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bookRegistrations in body,
+     * in request date order when a period is given, or with status {@code 400 (Bad Request)} if {@code from} is missing.
      */
     @GetMapping("")
-    public ResponseEntity<?> getAllBookRegistrations(@RequestHeader HttpHeaders headers) {
-        log.debug("REST request to get all BookRegistrations");
-        return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", bookRegistrationRepository.findAll()), HttpStatus.OK);
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getAllBookRegistrations(
+        @RequestHeader HttpHeaders headers,
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+        @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+        @RequestParam(value = "fields", required = false) String fields
+    ) {
+        List<String> selectedFields = SparseFields.parse(fields, BookRegistrationRepository.BOOK_REGISTRATION_FIELDS, ENTITY_NAME);
+        if (selectedFields != null) {
+            if (includeArchived) {
+                throw new BadRequestAlertException(
+                    "Fields cannot be selected with the archived registrations",
+                    ENTITY_NAME,
+                    "fieldsinvalid"
+                );
+            }
+            if (from == null && to != null) {
+                throw new BadRequestAlertException("The start of the period is required", ENTITY_NAME, "fromrequired");
+            }
+            log.debug("REST request to get the fields {} of BookRegistrations requested from {} to {}", selectedFields, from, to);
+            List<Map<String, Object>> bookRegistrations = from == null
+                ? bookRegistrationRepository.findAllFields(selectedFields)
+                : bookRegistrationRepository.findAllFieldsRequestedBetween(selectedFields, from, to);
+            return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", bookRegistrations), HttpStatus.OK);
+        }
+        if (from == null && to == null && !includeArchived) {
+            log.debug("REST request to get all BookRegistrations");
+            // the books and their category types are fetched in the same statement as the registrations
+            List<BookRegistrationDTO> bookRegistrations = bookRegistrationMapper.toDto(bookRegistrationRepository.findAllWithBook());
+            return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", bookRegistrations), HttpStatus.OK);
+        }
+        log.debug("REST request to get BookRegistrations requested from {} to {}, archived included: {}", from, to, includeArchived);
+        if (from == null) {
+            throw new BadRequestAlertException("The start of the period is required", ENTITY_NAME, "fromrequired");
+        }
+        List<BookRegistrationDTO> bookRegistrations = new ArrayList<>(
+            bookRegistrationMapper.toDto(
+                to == null
+                    ? bookRegistrationRepository.findAllWithBookRequestedFrom(from)
+                    : bookRegistrationRepository.findAllWithBookRequestedBetween(from, to)
+            )
+        );
+        if (includeArchived) {
+            bookRegistrations.addAll(
+                bookRegistrationMapper.toDtoFromArchive(
+                    to == null
+                        ? archivedBookRegistrationRepository.findAllWithBookRequestedFrom(from)
+                        : archivedBookRegistrationRepository.findAllWithBookRequestedBetween(from, to)
+                )
+            );
+            bookRegistrations.sort(REQUEST_DATE_ORDER);
+        }
+        return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", bookRegistrations), HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET  /book-registrations/_export} : stream all the bookRegistrations, one row at a time.
+     * <p>
+     * The rows are read through a database cursor and written as they come, so memory stays flat whatever the size of the table.
+     *
+     * @param format {@code ndjson} (default) for one JSON document per line, or {@code csv}.
+     * @param includeArchived whether to stream the archived registrations too, after the live ones; they carry their
+     * {@code archivedAt}, in an extra CSV column.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the streamed bookRegistrations in body,
+     * or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/_export")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportBookRegistrations(
+        @RequestHeader HttpHeaders headers,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format,
+        @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived
+    ) {
+        log.debug("REST request to export all BookRegistrations as {}, archived included: {}", format, includeArchived);
+        boolean csv;
+        if ("csv".equalsIgnoreCase(format)) {
+            csv = true;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            csv = false;
+        } else {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+        // the body is written after this method returns, on another thread: it runs its own read-only transaction
+        StreamingResponseBody body = outputStream ->
+            exportTransactionTemplate.executeWithoutResult(status -> {
+                try {
+                    if (csv) {
+                        writeCsv(outputStream, includeArchived);
+                    } else {
+                        writeNdjson(outputStream, includeArchived);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        return ResponseEntity.ok().contentType(csv ? CSV : NDJSON).body(body);
+    }
+
+    private void writeNdjson(OutputStream outputStream, boolean includeArchived) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long count = 0;
+        ObjectWriter writer = objectMapper.writerFor(BookRegistration.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<BookRegistration> bookRegistrations = bookRegistrationRepository.streamAllWithBook()) {
+            for (Iterator<BookRegistration> iterator = bookRegistrations.iterator(); iterator.hasNext();) {
+                BookRegistration bookRegistration = iterator.next();
+                writer.writeValue(generator, bookRegistration);
+                generator.writeRaw('\n');
+                detach(bookRegistration, ++count);
+            }
+        }
+        if (includeArchived) {
+            ObjectWriter archiveWriter = objectMapper
+                .writerFor(ArchivedBookRegistration.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (Stream<ArchivedBookRegistration> bookRegistrations = archivedBookRegistrationRepository.streamAllWithBook()) {
+                for (Iterator<ArchivedBookRegistration> iterator = bookRegistrations.iterator(); iterator.hasNext();) {
+                    ArchivedBookRegistration bookRegistration = iterator.next();
+                    archiveWriter.writeValue(generator, bookRegistration);
+                    generator.writeRaw('\n');
+                    detach(bookRegistration, ++count);
+                }
+            }
+        }
+        generator.close();
+    }
+
+    private void writeCsv(OutputStream outputStream, boolean includeArchived) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(includeArchived ? CSV_HEADER + ",archivedAt" : CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        try (Stream<BookRegistration> bookRegistrations = bookRegistrationRepository.streamAllWithBook()) {
+            for (Iterator<BookRegistration> iterator = bookRegistrations.iterator(); iterator.hasNext();) {
+                BookRegistration bookRegistration = iterator.next();
+                writeCsvRow(
+                    writer,
+                    bookRegistration.getId(),
+                    bookRegistration.getStudentId(),
+                    bookRegistration.getRequestDate(),
+                    bookRegistration.getRequestStatus(),
+                    bookRegistration.getReturnDate(),
+                    bookRegistration.getRemarks(),
+                    bookRegistration.getBook(),
+                    bookRegistration.getDueDate()
+                );
+                if (includeArchived) {
+                    writer.write(',');
+                }
+                writer.write('\n');
+                detach(bookRegistration, ++count);
+            }
+        }
+        if (includeArchived) {
+            try (Stream<ArchivedBookRegistration> bookRegistrations = archivedBookRegistrationRepository.streamAllWithBook()) {
+                for (Iterator<ArchivedBookRegistration> iterator = bookRegistrations.iterator(); iterator.hasNext();) {
+                    ArchivedBookRegistration bookRegistration = iterator.next();
+                    writeCsvRow(
+                        writer,
+                        bookRegistration.getId(),
+                        bookRegistration.getStudentId(),
+                        bookRegistration.getRequestDate(),
+                        bookRegistration.getRequestStatus(),
+                        bookRegistration.getReturnDate(),
+                        bookRegistration.getRemarks(),
+                        bookRegistration.getBook(),
+                        bookRegistration.getDueDate()
+                    );
+                    writer.write(',');
+                    writer.write(String.valueOf(bookRegistration.getArchivedAt()));
+                    writer.write('\n');
+                    detach(bookRegistration, ++count);
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the columns of {@link #CSV_HEADER}, without the end of line.
+     */
+    @SuppressWarnings("java:S107") // Methods should not have too many parameters
+    private static void writeCsvRow(
+        Writer writer,
+        Long id,
+        String studentId,
+        ZonedDateTime requestDate,
+        BookStatus requestStatus,
+        ZonedDateTime returnDate,
+        String remarks,
+        Book book,
+        ZonedDateTime dueDate
+    ) throws IOException {
+        writer.write(String.valueOf(id));
+        writer.write(',');
+        writer.write(csvField(studentId));
+        writer.write(',');
+        writer.write(csvField(requestDate));
+        writer.write(',');
+        writer.write(requestStatus == null ? "" : requestStatus.name());
+        writer.write(',');
+        writer.write(csvField(returnDate));
+        writer.write(',');
+        writer.write(csvField(remarks));
+        writer.write(',');
+        writer.write(book == null ? "" : String.valueOf(book.getId()));
+        writer.write(',');
+        writer.write(csvField(dueDate));
+    }
+
+    /**
+     * Drops a written row from the persistence context, and periodically the books loaded with the previous rows.
+     */
+    private void detach(Object bookRegistration, long count) {
+        entityManager.detach(bookRegistration);
+        if (count % BookRegistrationRepository.EXPORT_FETCH_SIZE == 0) {
+            entityManager.clear();
+        }
+    }
+
+    private static String csvField(ZonedDateTime value) {
+        return value == null ? "" : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
 
     /**
      * {@code GET  /book-registrations/:id} : get the "id" bookRegistration.
      *
      * @param id the id of the bookRegistration to retrieve.
+     * @param includeArchived whether to look for the bookRegistration in the archive too.
+     * @param fields the comma-separated fields of the live bookRegistration to return, all of them when not given.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the bookRegistration, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getBookRegistration(@RequestHeader HttpHeaders headers, @PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getBookRegistration(
+        @RequestHeader HttpHeaders headers,
+        @PathVariable Long id,
+        @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+        @RequestParam(value = "fields", required = false) String fields
+    ) {
         log.debug("REST request to get BookRegistration : {}", id);
-        Optional<BookRegistration> bookRegistration = bookRegistrationRepository.findById(id);
+        List<String> selectedFields = SparseFields.parse(fields, BookRegistrationRepository.BOOK_REGISTRATION_FIELDS, ENTITY_NAME);
+        if (selectedFields != null) {
+            if (includeArchived) {
+                throw new BadRequestAlertException(
+                    "Fields cannot be selected with the archived registrations",
+                    ENTITY_NAME,
+                    "fieldsinvalid"
+                );
+            }
+            return new ResponseEntity<>(
+                new BaseResponse<>(true, "Inquiry successfully", bookRegistrationRepository.findOneFields(selectedFields, id)),
+                HttpStatus.OK
+            );
+        }
+        Optional<BookRegistrationDTO> bookRegistration = bookRegistrationRepository
+            .findOneWithBookById(id)
+            .map(bookRegistrationMapper::toDto);
+        if (bookRegistration.isEmpty() && includeArchived) {
+            bookRegistration = archivedBookRegistrationRepository.findOneWithBookById(id).map(bookRegistrationMapper::toDto);
+        }
         //return ResponseUtil.wrapOrNotFound(bookRegistration);
         return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully", bookRegistration), HttpStatus.OK);
     }
@@ -194,7 +622,13 @@ public class BookRegistrationResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBookRegistration(@RequestHeader HttpHeaders headers, @PathVariable Long id) {
         log.debug("REST request to delete BookRegistration : {}", id);
-        bookRegistrationRepository.deleteById(id);
+        bookRegistrationRepository
+            .findOneForUpdateById(id)
+            .ifPresent(bookRegistration -> {
+                changeLoan(bookIdOf(bookRegistration), bookRegistration.getRequestStatus(), null);
+                registrationOutbox.deleted(bookRegistration);
+                bookRegistrationRepository.delete(bookRegistration);
+            });
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
@@ -1,26 +1,51 @@
 package com.application.demo.book.web.rest;
 
 import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.CategoryType;
 import com.application.demo.book.repository.BookRepository;
 import com.application.demo.book.security.AuthoritiesConstants;
+import com.application.demo.book.service.BookBulkService;
+import com.application.demo.book.service.BookLoanService;
+import com.application.demo.book.service.BookUnavailableException;
+import com.application.demo.book.service.dto.BookDTO;
+import com.application.demo.book.service.dto.BulkItemResult;
+import com.application.demo.book.service.mapper.BookMapper;
 import com.application.demo.book.web.rest.base.BaseResponse;
+import com.application.demo.book.web.rest.base.CursorPage;
+import com.application.demo.book.web.rest.base.EntityTags;
+import com.application.demo.book.web.rest.base.SparseFields;
 import com.application.demo.book.web.rest.errors.BadRequestAlertException;
+import com.application.demo.book.web.sse.BookAvailabilityBroadcaster;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -36,13 +61,45 @@ public class BookResource {
 
     private static final String ENTITY_NAME = "bookBook";
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final int MAX_SEARCH_TERMS = 8;
+
+    private static final Pattern SEARCH_TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final BookRepository bookRepository;
 
-    public BookResource(BookRepository bookRepository) {
+    private final BookBulkService bookBulkService;
+
+    private final BookLoanService bookLoanService;
+
+    private final BookMapper bookMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final BookAvailabilityBroadcaster bookAvailabilityBroadcaster;
+
+    public BookResource(
+        BookRepository bookRepository,
+        BookBulkService bookBulkService,
+        BookLoanService bookLoanService,
+        BookMapper bookMapper,
+        ObjectMapper objectMapper,
+        BookAvailabilityBroadcaster bookAvailabilityBroadcaster
+    ) {
         this.bookRepository = bookRepository;
+        this.bookBulkService = bookBulkService;
+        this.bookLoanService = bookLoanService;
+        this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
+        this.bookAvailabilityBroadcaster = bookAvailabilityBroadcaster;
     }
 
     /**
@@ -62,6 +119,44 @@ public class BookResource {
         return new ResponseEntity<>(new BaseResponse<>(true, "Created successfully.", result), HttpStatus.CREATED);
     }
 
+    /**
+     * {@code POST  /books/_bulk} : Create or update books in bulk, from a JSON array.
+     * <p>
+     * Books without an id are created, books with an id are updated. Each item is validated on its own and the valid ones
+     * are saved in chunks, each in its own transaction.
+     *
+     * @param books the books to create or update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in order.
+     */
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<?> bulkSaveBooks(@RequestHeader HttpHeaders headers, @RequestBody List<Book> books) {
+        log.debug("REST request to bulk save {} Books", books.size());
+        List<BulkItemResult> results = bookBulkService.saveAll(books.iterator());
+        return new ResponseEntity<>(new BaseResponse<>(true, "Bulk processed successfully.", results), HttpStatus.OK);
+    }
+
+    /**
+     * {@code POST  /books/_bulk} : Create or update books in bulk, from newline-delimited JSON.
+     * <p>
+     * Same as the JSON array variant, but the books are read one line at a time while the previous chunks are saved,
+     * so the request body is never held in memory. Reading stops at the first unreadable line.
+     *
+     * @param body one book per line.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in order.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/_bulk", consumes = "application/x-ndjson")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<?> bulkSaveBookStream(@RequestHeader HttpHeaders headers, InputStream body) throws IOException {
+        log.debug("REST request to bulk save a stream of Books");
+        List<BulkItemResult> results;
+        try (MappingIterator<Book> books = objectMapper.readerFor(Book.class).readValues(body)) {
+            results = bookBulkService.saveAll(books);
+        }
+        return new ResponseEntity<>(new BaseResponse<>(true, "Bulk processed successfully.", results), HttpStatus.OK);
+    }
+
     /**
      * {@code PUT  /books/:id} : Updates an existing book.
      *
@@ -90,7 +185,18 @@ public class BookResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Book result = bookRepository.save(book);
+        changeCopies(id, book.getCopies());
+        // copied onto the managed book: the counters are never written from the request body
+        Book result = bookRepository
+            .findById(id)
+            .map(existingBook -> {
+                existingBook.setAuthor(book.getAuthor());
+                existingBook.setTitle(book.getTitle());
+                existingBook.setDescription(book.getDescription());
+                existingBook.setCategoryType(book.getCategoryType());
+                return existingBook;
+            })
+            .orElseThrow();
         return new ResponseEntity<>(new BaseResponse<>(true, "Update successfully.", result), HttpStatus.OK);
     }
 
@@ -123,6 +229,7 @@ public class BookResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        changeCopies(id, book.getCopies());
         Optional<Book> result = bookRepository
             .findById(book.getId())
             .map(existingBook -> {
@@ -142,28 +249,226 @@ public class BookResource {
         return new ResponseEntity<>(new BaseResponse<>(true, "Patch successfully.", result), HttpStatus.OK);
     }
 
+    /**
+     * Changes the number of copies of a book when given; the available copies follow, the borrowed ones stay borrowed.
+     * <p>
+     * Checked here rather than by the {@code @Min} of the entity, which the partial update does not validate.
+     */
+    private void changeCopies(Long id, Integer copies) {
+        if (copies == null) {
+            return;
+        }
+        if (copies < 0) {
+            throw new BadRequestAlertException("The number of copies cannot be negative", ENTITY_NAME, "copiesinvalid");
+        }
+        try {
+            bookLoanService.changeCopies(id, copies);
+        } catch (BookUnavailableException e) {
+            throw new BadRequestAlertException("More copies are borrowed than the new number of copies", ENTITY_NAME, "copiesinuse");
+        }
+    }
+
     /**
      * {@code GET  /books} : get all the books.
+     * <p>
+     * When any of {@code after}, {@code limit} or the filters is given, a keyset page is returned instead of the whole table:
+     * pass the {@code nextCursor} of a page as {@code after} to get the next one.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of books in body.
+     * @param after the id of the last book of the previous page.
+     * @param limit the maximum number of books of the page.
+     * @param author case-insensitive prefix of the author.
+     * @param title case-insensitive prefix of the title.
+     * @param categoryTypeId the id of the category type of the books.
+     * @param fields the comma-separated fields of the books to return, all of them when not given; only those are read.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list (or keyset page) of books in body.
      */
     @GetMapping("")
-    public ResponseEntity<?> getAllBooks(@RequestHeader HttpHeaders headers) {
-        log.debug("REST request to get all Books");
-        return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", bookRepository.findAll()), HttpStatus.OK);
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getAllBooks(
+        @RequestHeader HttpHeaders headers,
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "limit", required = false) Integer limit,
+        @RequestParam(value = "author", required = false) String author,
+        @RequestParam(value = "title", required = false) String title,
+        @RequestParam(value = "categoryTypeId", required = false) Long categoryTypeId,
+        @RequestParam(value = "fields", required = false) String fields
+    ) {
+        List<String> selectedFields = SparseFields.parse(fields, BookRepository.BOOK_FIELDS, ENTITY_NAME);
+        if (after == null && limit == null && author == null && title == null && categoryTypeId == null) {
+            log.debug("REST request to get all Books");
+            return new ResponseEntity<>(
+                new BaseResponse<>(
+                    true,
+                    "Inquiry successfully.",
+                    selectedFields == null
+                        ? bookMapper.toDto(bookRepository.findAllWithCategoryType())
+                        : bookRepository.findAllFields(selectedFields)
+                ),
+                HttpStatus.OK
+            );
+        }
+        log.debug("REST request to get Books after {} : author={}, title={}, categoryTypeId={}", after, author, title, categoryTypeId);
+        if (limit != null && limit < 1) {
+            throw new BadRequestAlertException("Invalid limit", ENTITY_NAME, "limitinvalid");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        if (selectedFields != null) {
+            List<Map<String, Object>> books = bookRepository.findAllFieldsAfter(
+                selectedFields,
+                after == null ? 0L : after,
+                likePrefix(author),
+                likePrefix(title),
+                categoryTypeId,
+                pageSize + 1
+            );
+            Long nextCursor = null;
+            if (books.size() > pageSize) {
+                books = books.subList(0, pageSize);
+                nextCursor = (Long) books.get(pageSize - 1).get("id");
+            }
+            return new ResponseEntity<>(
+                new BaseResponse<>(true, "Inquiry successfully.", new CursorPage<>(books, nextCursor, pageSize)),
+                HttpStatus.OK
+            );
+        }
+        // fetch one extra row to know whether another page follows, without a count query
+        List<Book> books = bookRepository.findAllAfter(
+            after == null ? 0L : after,
+            likePrefix(author),
+            likePrefix(title),
+            categoryTypeId,
+            PageRequest.of(0, pageSize + 1)
+        );
+        Long nextCursor = null;
+        if (books.size() > pageSize) {
+            books = books.subList(0, pageSize);
+            nextCursor = books.get(pageSize - 1).getId();
+        }
+        return new ResponseEntity<>(
+            new BaseResponse<>(true, "Inquiry successfully.", new CursorPage<>(bookMapper.toDto(books), nextCursor, pageSize)),
+            HttpStatus.OK
+        );
+    }
+
+    /**
+     * {@code GET  /books/_search?q=:query} : search the books by title, author and description.
+     * <p>
+     * Every term of the query must match; a term matches a whole word anywhere, or the beginning of a word of the title or author.
+     *
+     * @param query the words to search for.
+     * @param limit the maximum number of books to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the matching books in body, best matches first,
+     * or with status {@code 400 (Bad Request)} if the query has no searchable term.
+     */
+    @GetMapping("/_search")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> searchBooks(
+        @RequestHeader HttpHeaders headers,
+        @RequestParam("q") String query,
+        @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        log.debug("REST request to search Books : {}", query);
+        String tsQuery = toTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            throw new BadRequestAlertException("Invalid query", ENTITY_NAME, "queryinvalid");
+        }
+        if (limit != null && limit < 1) {
+            throw new BadRequestAlertException("Invalid limit", ENTITY_NAME, "limitinvalid");
+        }
+        int maxResults = limit == null ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_SEARCH_RESULTS);
+        // ranked ids first, then the books with their category types in one statement, put back in rank order
+        List<Long> ids = bookRepository.searchIds(tsQuery, maxResults);
+        Map<Long, Book> books = ids.isEmpty()
+            ? Map.of()
+            : bookRepository.findAllWithCategoryTypeByIdIn(ids).stream().collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<BookDTO> result = ids.stream().map(books::get).filter(Objects::nonNull).map(bookMapper::toDto).toList();
+        return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", result), HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET  /books/availability/stream} : stream the availability changes of the books.
+     * <p>
+     * Every committed change of the copies of a book is sent as an {@code availability} event with the new
+     * {@code copies} and {@code available} of the book; a client loads the books first, then applies the events.
+     * The id of an event is the version of its book, for the client to drop an event older than the book it has; it is not
+     * a position in the stream, so {@code Last-Event-ID} is not read: a reconnecting client reloads the books instead.
+     *
+     * @return the {@link SseEmitter} of the {@code text/event-stream} response.
+     */
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter streamBookAvailability() {
+        log.debug("REST request to stream the availability of Books");
+        return bookAvailabilityBroadcaster.subscribe();
     }
 
     /**
      * {@code GET  /books/:id} : get the "id" book.
+     * <p>
+     * The book and its category type are read through the second-level cache, and their versions make the {@code ETag}:
+     * a client sending it back in {@code If-None-Match} (or the last modification date in {@code If-Modified-Since})
+     * gets a {@code 304 (Not Modified)} without body while the book is unchanged.
+     * <p>
+     * With {@code fields}, only the selected fields are read, from the database, and returned without {@code ETag}.
      *
      * @param id the id of the book to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the book, or with status {@code 404 (Not Found)}.
+     * @param fields the comma-separated fields of the book to return, all of them when not given.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the book,
+     * or {@code null} for status {@code 304 (Not Modified)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getBook(@RequestHeader HttpHeaders headers, @PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getBook(
+        @RequestHeader HttpHeaders headers,
+        @PathVariable Long id,
+        @RequestParam(value = "fields", required = false) String fields,
+        ServletWebRequest webRequest
+    ) {
         log.debug("REST request to get Book : {}", id);
+        List<String> selectedFields = SparseFields.parse(fields, BookRepository.BOOK_FIELDS, ENTITY_NAME);
+        if (selectedFields != null) {
+            return new ResponseEntity<>(
+                new BaseResponse<>(true, "Inquiry successfully.", bookRepository.findOneFields(selectedFields, id)),
+                HttpStatus.OK
+            );
+        }
         Optional<Book> book = bookRepository.findById(id);
-        return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", book), HttpStatus.OK);
+        if (book.isPresent()) {
+            CategoryType categoryType = book.get().getCategoryType();
+            String eTag = EntityTags.of(book.get().getVersion(), categoryType == null ? null : categoryType.getVersion());
+            long lastModified = EntityTags.lastModified(
+                book.get().getLastModifiedDate(),
+                categoryType == null ? null : categoryType.getLastModifiedDate()
+            );
+            if (EntityTags.checkNotModified(webRequest, eTag, lastModified)) {
+                return null;
+            }
+        }
+        return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", book.map(bookMapper::toDto)), HttpStatus.OK);
+    }
+
+    /**
+     * Lower-cases a filter value and escapes the LIKE wildcards, so that it only matches as a literal prefix.
+     */
+    private static String likePrefix(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Builds a {@code tsquery} out of the letters and digits of a free-text query: each term matches either the whole word,
+     * or a word of the title ({@code A}) or author ({@code B}) starting with it.
+     */
+    private static String toTsQuery(String query) {
+        return SEARCH_TERM_SEPARATOR
+            .splitAsStream(query.toLowerCase(Locale.ROOT))
+            .filter(term -> !term.isEmpty())
+            .distinct()
+            .limit(MAX_SEARCH_TERMS)
+            .map(term -> "(" + term + " | " + term + ":*AB)")
+            .collect(Collectors.joining(" & "));
     }
 
     /**
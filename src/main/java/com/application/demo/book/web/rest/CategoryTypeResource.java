@@ -3,6 +3,8 @@ package com.application.demo.book.web.rest;
 import com.application.demo.book.domain.CategoryType;
 import com.application.demo.book.repository.CategoryTypeRepository;
 import com.application.demo.book.web.rest.base.BaseResponse;
+import com.application.demo.book.web.rest.base.EntityTags;
+import com.application.demo.book.web.rest.base.SparseFields;
 import com.application.demo.book.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -19,6 +21,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -89,7 +92,15 @@ public class CategoryTypeResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        CategoryType result = categoryTypeRepository.save(categoryType);
+        // copied onto the managed categoryType, which holds the current version
+        CategoryType result = categoryTypeRepository
+            .findById(id)
+            .map(existingCategoryType -> {
+                existingCategoryType.setTitle(categoryType.getTitle());
+                existingCategoryType.setDescription(categoryType.getDescription());
+                return existingCategoryType;
+            })
+            .orElseThrow();
         return new ResponseEntity<>(new BaseResponse<>(true, "Update successfully.", result), HttpStatus.OK);
     }
 
@@ -146,24 +157,67 @@ public class CategoryTypeResource {
     /**
      * {@code GET  /category-types} : get all the categoryTypes.
      *
+     * @param fields the comma-separated fields of the categoryTypes to return, all of them when not given; only those are read.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categoryTypes in body.
      */
     @GetMapping("")
-    public ResponseEntity<?> getAllCategoryTypes(@RequestHeader HttpHeaders headers) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getAllCategoryTypes(
+        @RequestHeader HttpHeaders headers,
+        @RequestParam(value = "fields", required = false) String fields
+    ) {
         log.debug("REST request to get all CategoryTypes");
+        List<String> selectedFields = SparseFields.parse(fields, CategoryTypeRepository.CATEGORY_TYPE_FIELDS, ENTITY_NAME);
+        if (selectedFields != null) {
+            return new ResponseEntity<>(
+                new BaseResponse<>(true, "Inquiry successfully.", categoryTypeRepository.findAllFields(selectedFields)),
+                HttpStatus.OK
+            );
+        }
         return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", categoryTypeRepository.findAll()), HttpStatus.OK);
     }
 
     /**
      * {@code GET  /category-types/:id} : get the "id" categoryType.
      *
+     * <p>
+     * Answers {@code If-None-Match} and {@code If-Modified-Since} with a {@code 304 (Not Modified)} while the categoryType is
+     * unchanged, its version being the {@code ETag}.
+     * <p>
+     * With {@code fields}, only the selected fields are read and returned, without {@code ETag}.
+     *
      * @param id the id of the categoryType to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the categoryType, or with status {@code 404 (Not Found)}.
+     * @param fields the comma-separated fields of the categoryType to return, all of them when not given.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the categoryType,
+     * or {@code null} for status {@code 304 (Not Modified)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getCategoryType(@RequestHeader HttpHeaders headers, @PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getCategoryType(
+        @RequestHeader HttpHeaders headers,
+        @PathVariable Long id,
+        @RequestParam(value = "fields", required = false) String fields,
+        ServletWebRequest webRequest
+    ) {
         log.debug("REST request to get CategoryType : {}", id);
+        List<String> selectedFields = SparseFields.parse(fields, CategoryTypeRepository.CATEGORY_TYPE_FIELDS, ENTITY_NAME);
+        if (selectedFields != null) {
+            return new ResponseEntity<>(
+                new BaseResponse<>(true, "Inquiry successfully.", categoryTypeRepository.findOneFields(selectedFields, id)),
+                HttpStatus.OK
+            );
+        }
         Optional<CategoryType> categoryType = categoryTypeRepository.findById(id);
+        if (
+            categoryType.isPresent() &&
+            EntityTags.checkNotModified(
+                webRequest,
+                EntityTags.of(categoryType.get().getVersion()),
+                EntityTags.lastModified(categoryType.get().getLastModifiedDate())
+            )
+        ) {
+            return null;
+        }
         return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", categoryType), HttpStatus.OK);
     }
 
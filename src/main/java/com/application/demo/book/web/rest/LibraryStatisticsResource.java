@@ -0,0 +1,56 @@
+package com.application.demo.book.web.rest;
+
+import com.application.demo.book.service.RegistrationStatisticsService;
+import com.application.demo.book.service.dto.LibraryStatisticsDTO;
+import com.application.demo.book.web.rest.base.BaseResponse;
+import com.application.demo.book.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for reading the statistics of the library, see {@link RegistrationStatisticsService}.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class LibraryStatisticsResource {
+
+    private final Logger log = LoggerFactory.getLogger(LibraryStatisticsResource.class);
+
+    private static final String ENTITY_NAME = "bookStatistics";
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private static final int MAX_DAYS = 366;
+
+    private final RegistrationStatisticsService registrationStatisticsService;
+
+    public LibraryStatisticsResource(RegistrationStatisticsService registrationStatisticsService) {
+        this.registrationStatisticsService = registrationStatisticsService;
+    }
+
+    /**
+     * {@code GET  /stats} : get the registrations per status and per category type, and the borrows per day.
+     * <p>
+     * Read from counters maintained as the registrations change, a few seconds behind them at most.
+     *
+     * @param days the number of days of borrows, today included.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics in body,
+     * or with status {@code 400 (Bad Request)} if {@code days} is out of range.
+     */
+    @GetMapping("")
+    public ResponseEntity<?> getStatistics(
+        @RequestHeader HttpHeaders headers,
+        @RequestParam(value = "days", defaultValue = "" + DEFAULT_DAYS) int days
+    ) {
+        log.debug("REST request to get the statistics of the last {} days", days);
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BadRequestAlertException("Invalid number of days", ENTITY_NAME, "daysinvalid");
+        }
+        LibraryStatisticsDTO statistics = registrationStatisticsService.getStatistics(days);
+        return new ResponseEntity<>(new BaseResponse<>(true, "Inquiry successfully.", statistics), HttpStatus.OK);
+    }
+}
@@ -1,21 +1,22 @@
 package com.application.demo.book.web.rest.base;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
-import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import java.time.Instant;
 import java.time.LocalDateTime;
-
+import java.time.ZoneId;
+
+/**
+ * The envelope of the REST responses, written by {@link BaseResponseSerializer}.
+ * <p>
+ * Only the wall-clock millisecond is taken on creation: the {@code timeStamp} is formatted when written, to the second.
+ */
+@JsonSerialize(using = BaseResponseSerializer.class)
 public class BaseResponse<T> {
 
     private final Boolean status;
     private final String message;
 
-    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
-    @JsonDeserialize(using = LocalDateTimeDeserializer.class)
-    @JsonSerialize(using = LocalDateTimeSerializer.class)
-    private final LocalDateTime timeStamp;
+    private final long timeStampMillis;
 
     private final T data;
 
@@ -28,7 +29,11 @@ public class BaseResponse<T> {
     }
 
     public LocalDateTime getTimeStamp() {
-        return timeStamp;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timeStampMillis), ZoneId.systemDefault());
+    }
+
+    long getTimeStampMillis() {
+        return timeStampMillis;
     }
 
     public T getData() {
@@ -38,7 +43,7 @@ public class BaseResponse<T> {
     public BaseResponse(Boolean status, String message, T data) {
         this.status = status;
         this.message = message;
-        this.timeStamp = LocalDateTime.now();
+        this.timeStampMillis = System.currentTimeMillis();
         this.data = data;
     }
 }
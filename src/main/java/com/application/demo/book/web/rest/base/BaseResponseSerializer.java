@@ -0,0 +1,103 @@
+package com.application.demo.book.web.rest.base;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@link BaseResponse} without reflection and with as few allocations as the envelope allows.
+ * <p>
+ * The field names, and the messages (a handful of literals such as {@code "Inquiry successfully."}), are written from
+ * {@link SerializedString}s encoded once and kept. The {@code timeStamp}, formatted to the second, is shared by all the
+ * responses of the same second: it is only formatted again when the second changes. The output is the same as the one of
+ * the former bean serialization, {@code timeStamp} in the {@code yyyy-MM-dd HH:mm:ss} pattern of the system time zone.
+ */
+public class BaseResponseSerializer extends StdSerializer<BaseResponse<?>> {
+
+    private static final SerializedString STATUS = new SerializedString("status");
+
+    private static final SerializedString MESSAGE = new SerializedString("message");
+
+    private static final SerializedString TIME_STAMP = new SerializedString("timeStamp");
+
+    private static final SerializedString DATA = new SerializedString("data");
+
+    private static final DateTimeFormatter TIME_STAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Upper bound of the cached messages: messages built from request data are written without being cached.
+     */
+    private static final int MAX_CACHED_MESSAGES = 256;
+
+    private static final Map<String, SerializedString> MESSAGES = new ConcurrentHashMap<>();
+
+    private static volatile FormattedSecond lastSecond = new FormattedSecond(Long.MIN_VALUE, null);
+
+    @SuppressWarnings("unchecked")
+    public BaseResponseSerializer() {
+        super((Class<BaseResponse<?>>) (Class<?>) BaseResponse.class);
+    }
+
+    @Override
+    public void serialize(BaseResponse<?> response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+        gen.writeFieldName(STATUS);
+        if (response.getStatus() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(response.getStatus());
+        }
+        gen.writeFieldName(MESSAGE);
+        if (response.getMessage() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(message(response.getMessage()));
+        }
+        gen.writeFieldName(TIME_STAMP);
+        gen.writeString(timeStamp(response.getTimeStampMillis()));
+        gen.writeFieldName(DATA);
+        provider.defaultSerializeValue(response.getData(), gen);
+        gen.writeEndObject();
+    }
+
+    static SerializableString message(String message) {
+        SerializedString serialized = MESSAGES.get(message);
+        if (serialized != null) {
+            return serialized;
+        }
+        serialized = new SerializedString(message);
+        if (MESSAGES.size() < MAX_CACHED_MESSAGES) {
+            MESSAGES.putIfAbsent(message, serialized);
+        }
+        return serialized;
+    }
+
+    static SerializableString timeStamp(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        FormattedSecond second = lastSecond;
+        if (second.epochSecond() != epochSecond) {
+            // a response of an earlier second, written late, formats its own and leaves the cached one alone
+            second = new FormattedSecond(epochSecond, format(epochSecond));
+            if (epochSecond > lastSecond.epochSecond()) {
+                lastSecond = second;
+            }
+        }
+        return second.formatted();
+    }
+
+    private static SerializedString format(long epochSecond) {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+        return new SerializedString(TIME_STAMP_FORMAT.format(dateTime));
+    }
+
+    private record FormattedSecond(long epochSecond, SerializedString formatted) {}
+}
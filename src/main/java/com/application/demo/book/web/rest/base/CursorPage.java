@@ -0,0 +1,34 @@
+package com.application.demo.book.web.rest.base;
+
+import java.util.List;
+
+/**
+ * A keyset page of results: the rows of the page and the cursor to pass as {@code after} to fetch the next one.
+ * The cursor is {@code null} once the last page has been reached.
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    private final Long nextCursor;
+
+    private final int limit;
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public CursorPage(List<T> content, Long nextCursor, int limit) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+}
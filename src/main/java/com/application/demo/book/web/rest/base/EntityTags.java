@@ -0,0 +1,55 @@
+package com.application.demo.book.web.rest.base;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET support: entity tags and modification dates computed from the versions and audit dates of the rows a
+ * representation is built from, so that checking them never requires serializing the representation.
+ */
+public final class EntityTags {
+
+    private EntityTags() {}
+
+    /**
+     * A weak entity tag made of versions; a {@code null} version (a missing optional association) counts as its own value.
+     * <p>
+     * The tag is weak because the versions only tell that the content is the same, not the bytes: the JSON, Smile and
+     * CBOR representations of the same rows get the same tag, which a strong tag would not allow.
+     */
+    public static String of(Long... versions) {
+        return Arrays
+            .stream(versions)
+            .map(version -> version == null ? "n" : version.toString())
+            .collect(Collectors.joining("-", "W/\"", "\""));
+    }
+
+    /**
+     * The most recent of the given dates, in epoch milliseconds, or {@code -1} if none is known.
+     */
+    public static long lastModified(Instant... dates) {
+        return Arrays.stream(dates).filter(Objects::nonNull).mapToLong(Instant::toEpochMilli).max().orElse(-1);
+    }
+
+    /**
+     * Checks {@code If-None-Match} (which takes precedence) and {@code If-Modified-Since} against the given values.
+     * The {@code ETag}, {@code Last-Modified} and {@code Cache-Control: no-cache} headers are set on the response either way,
+     * so that clients keep the representation and revalidate it, with {@code Vary: Accept} as the same weak tag is given to
+     * the JSON, Smile and CBOR representations. {@code If-None-Match} is compared weakly, as for any {@code GET}.
+     *
+     * @return {@code true} if the client copy is up to date: the handler should then return {@code null}, and a
+     * {@code 304 (Not Modified)} without body is sent.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String eTag, long lastModified) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(eTag, lastModified);
+    }
+}
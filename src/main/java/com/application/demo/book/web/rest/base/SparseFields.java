@@ -0,0 +1,30 @@
+package com.application.demo.book.web.rest.base;
+
+import com.application.demo.book.repository.SparseFieldset;
+import com.application.demo.book.web.rest.errors.BadRequestAlertException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code fields} request parameter: a comma-separated list of the fields to return, e.g. {@code fields=id,title}.
+ * Naming a nested object (e.g. {@code categoryType}) returns all its fields.
+ */
+public final class SparseFields {
+
+    private SparseFields() {}
+
+    /**
+     * @return the fields to read, or {@code null} when the parameter is absent and the full representation is returned.
+     * @throws BadRequestAlertException with the {@code fieldsinvalid} key if a field does not exist.
+     */
+    public static List<String> parse(String fields, SparseFieldset fieldset, String entityName) {
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return fieldset.select(Arrays.stream(fields.split(",")).map(String::trim).filter(field -> !field.isEmpty()).toList());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown field: " + e.getMessage(), entityName, "fieldsinvalid");
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.application.demo.book.web.sse;
+
+import com.application.demo.book.config.ApplicationProperties;
+import com.application.demo.book.service.dto.BookAvailabilityDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans the committed {@link BookAvailabilityDTO} changes out to the clients of {@code /api/books/availability/stream}.
+ * <p>
+ * An idle client only costs its open connection: the request is asynchronous, and events are written by the
+ * {@code availabilityStreamExecutor} of its own (see AsyncConfiguration), never by the thread committing the change nor
+ * by the threads of the {@code @Async} tasks. Every client has its own buffer of unsent changes, holding the latest change
+ * of each book only, so a slow client receives fewer events rather than delaying the others; a client falling behind on
+ * more than {@code application.availability-stream.max-pending-changes} books is disconnected, and reloads the books when
+ * it reconnects. A heartbeat comment keeps proxies from closing quiet streams and finds the dead ones; it also interrupts
+ * the writes blocked for longer than {@code application.availability-stream.send-timeout} on a client that stopped
+ * reading, and ends its stream, so that such a client holds a sender thread for that long at most.
+ * <p>
+ * The id of an event is the version of the book, for clients to drop a state older than the one they have: the commits of
+ * two changes of a book may reach the clients in either order.
+ * <p>
+ * Only the changes committed by this instance are streamed.
+ */
+@Component
+public class BookAvailabilityBroadcaster {
+
+    public static final String EVENT_NAME = "availability";
+
+    public static final String SUBSCRIBERS_METER_NAME = "books.availability.subscribers";
+
+    private static final long RECONNECT_TIME_MILLIS = 5_000;
+
+    private final Logger log = LoggerFactory.getLogger(BookAvailabilityBroadcaster.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Executor executor;
+
+    private final long timeoutMillis;
+
+    private final long sendTimeoutNanos;
+
+    private final int maxPendingChanges;
+
+    public BookAvailabilityBroadcaster(
+        @Qualifier("availabilityStreamExecutor") Executor executor,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.executor = executor;
+        this.timeoutMillis = applicationProperties.getAvailabilityStream().getTimeout().toMillis();
+        this.sendTimeoutNanos = applicationProperties.getAvailabilityStream().getSendTimeout().toNanos();
+        this.maxPendingChanges = applicationProperties.getAvailabilityStream().getMaxPendingChanges();
+        Gauge.builder(SUBSCRIBERS_METER_NAME, subscribers, Set::size).description("Open book availability streams.").register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream; it ends after {@code application.availability-stream.timeout}, when the client reconnects.
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        try {
+            // buffered until the response is set up, then sent right away so that proxies pass the headers on
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_TIME_MILLIS));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Receives the changes published by {@code BookLoanService}, the only writer of the counters of the books.
+     */
+    @TransactionalEventListener
+    public void onAvailabilityChanged(BookAvailabilityDTO availability) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(availability);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.availability-stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.abortStuckSend(now)) {
+                subscriber.requestHeartbeat();
+            }
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Map<Long, BookAvailabilityDTO> pending = new ConcurrentHashMap<>();
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean heartbeatDue;
+
+        /**
+         * The thread writing to the client and since when, guarded by this subscriber; {@code null} between writes.
+         */
+        private Thread sender;
+
+        private long sendStartNanos;
+
+        private boolean aborted;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(BookAvailabilityDTO availability) {
+            // a newer state of a book replaces the one not sent yet, and an older one arriving late is dropped
+            pending.merge(
+                availability.getBookId(),
+                availability,
+                (unsent, received) -> received.isNotOlderThan(unsent) ? received : unsent
+            );
+            if (pending.size() > maxPendingChanges) {
+                log.debug("Closing a book availability stream {} changes behind", pending.size());
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void requestHeartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        /**
+         * Starts a drain unless one is running; the running one picks up what was just added.
+         */
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // the changes stay pending, for the next change or heartbeat to send
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    for (Long bookId : pending.keySet()) {
+                        BookAvailabilityDTO availability = pending.remove(bookId);
+                        if (availability != null) {
+                            send(
+                                SseEmitter
+                                    .event()
+                                    .id(String.valueOf(availability.getVersion()))
+                                    .name(EVENT_NAME)
+                                    .data(availability, MediaType.APPLICATION_JSON)
+                            );
+                        }
+                    }
+                    draining.set(false);
+                } while ((heartbeatDue || !pending.isEmpty()) && draining.compareAndSet(false, true));
+            } catch (IOException e) {
+                // the client is gone, or stopped reading
+                log.debug("Book availability stream closed: {}", e.getMessage());
+                subscribers.remove(this);
+                pending.clear();
+                emitter.completeWithError(e);
+            } catch (IllegalStateException e) {
+                // the stream already completed
+                subscribers.remove(this);
+                pending.clear();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                if (aborted) {
+                    throw new InterruptedIOException("Send timed out");
+                }
+                sender = Thread.currentThread();
+                sendStartNanos = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                    if (aborted) {
+                        // the interrupt may have come after the write: it must not reach the next task of the thread
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Interrupts the write in progress if it started more than {@code send-timeout} before {@code now}: the drain then
+         * fails, ending the stream. The emitter itself is left alone, as the blocked write holds its monitor.
+         *
+         * @return {@code true} if the write was interrupted.
+         */
+        synchronized boolean abortStuckSend(long now) {
+            if (sender == null || now - sendStartNanos <= sendTimeoutNanos) {
+                return false;
+            }
+            log.debug("Closing a book availability stream not read for {} ms", (now - sendStartNanos) / 1_000_000);
+            aborted = true;
+            subscribers.remove(this);
+            pending.clear();
+            sender.interrupt();
+            return true;
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            pending.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Server-Sent Events streams.
+ */
+package com.application.demo.book.web.sse;
@@ -12,4 +12,9 @@ public class AsyncSyncConfiguration {
     public Executor taskExecutor() {
         return new SyncTaskExecutor();
     }
+
+    @Bean(name = "availabilityStreamExecutor")
+    public Executor availabilityStreamExecutor() {
+        return new SyncTaskExecutor();
+    }
 }
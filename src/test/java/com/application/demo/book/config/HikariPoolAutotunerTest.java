@@ -0,0 +1,114 @@
+package com.application.demo.book.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Unit tests for the {@link HikariPoolAutotuner} class.
+ */
+class HikariPoolAutotunerTest {
+
+    private HikariConfig config;
+
+    private HikariPoolMXBean pool;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Timer acquire;
+
+    private ApplicationProperties.Pool properties;
+
+    private HikariPoolAutotuner autotuner;
+
+    @BeforeEach
+    public void setup() {
+        config = new HikariConfig();
+        config.setPoolName("Hikari");
+        config.setMaximumPoolSize(10);
+        config.setMinimumIdle(10);
+        pool = mock(HikariPoolMXBean.class);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getPoolName()).thenReturn("Hikari");
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getHikariConfigMXBean()).thenReturn(config);
+        meterRegistry = new SimpleMeterRegistry();
+        acquire = Timer.builder(HikariPoolAutotuner.ACQUIRE_METER_NAME).tag("pool", "Hikari").register(meterRegistry);
+        properties = new ApplicationProperties.Pool();
+        properties.setAutotune(true);
+        properties.setMinSize(5);
+        properties.setMaxSize(20);
+        properties.setCheckInterval(Duration.ofSeconds(10));
+        properties.setShrinkAfter(Duration.ofSeconds(30));
+        autotuner = new HikariPoolAutotuner(dataSource, properties, meterRegistry);
+    }
+
+    @Test
+    void growsByTheWaitingThreads() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(4);
+        when(pool.getActiveConnections()).thenReturn(10);
+
+        autotuner.check();
+
+        assertThat(autotuner.isSaturated()).isTrue();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(14);
+        assertThat(autotuner.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(meterRegistry.get(HikariPoolAutotuner.RESIZES_METER_NAME).tag("direction", "grow").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void growsWhenTheAcquireTimeIsTooLong() {
+        acquire.record(Duration.ofMillis(100));
+
+        autotuner.check();
+
+        assertThat(autotuner.isSaturated()).isTrue();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(11);
+    }
+
+    @Test
+    void isDegradedWhenSaturatedAtTheMaximumSize() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(50);
+
+        autotuner.check();
+        autotuner.check();
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(autotuner.health().getStatus()).isEqualTo(HikariPoolAutotuner.DEGRADED);
+        assertThat(meterRegistry.get(HikariPoolAutotuner.SATURATED_METER_NAME).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shrinksToThePeakUsageAfterAQuietPeriod() {
+        when(pool.getActiveConnections()).thenReturn(6, 3, 2);
+
+        autotuner.check();
+        autotuner.check();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(10);
+        autotuner.check();
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(config.getMinimumIdle()).isEqualTo(7);
+        assertThat(autotuner.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void onlyReportsTheSaturationWithoutAutotuning() {
+        properties.setAutotune(false);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+
+        autotuner.check();
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(10);
+        assertThat(autotuner.health().getStatus()).isEqualTo(HikariPoolAutotuner.DEGRADED);
+    }
+}
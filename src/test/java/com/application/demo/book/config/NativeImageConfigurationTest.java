@@ -0,0 +1,55 @@
+package com.application.demo.book.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.domain.CategoryType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+/**
+ * Unit tests for the hints of the {@link NativeImageConfiguration}.
+ */
+class NativeImageConfigurationTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    public void setup() {
+        hints = new RuntimeHints();
+        new NativeImageConfiguration.BookRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersTheEntitiesAndTheirMetamodel() {
+        for (Class<?> entity : new Class<?>[] { Book.class, BookRegistration.class, CategoryType.class }) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(entity).withMemberCategory(MemberCategory.DECLARED_FIELDS))
+                .accepts(hints);
+            assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(entity.getName() + "_"))).accepts(hints);
+        }
+    }
+
+    @Test
+    void registersTheClientInterceptors() {
+        assertThat(
+            RuntimeHintsPredicates
+                .reflection()
+                .onType(TypeReference.of(NativeImageConfiguration.CLIENT_PACKAGE + ".UserFeignClientInterceptor"))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+        )
+            .accepts(hints);
+    }
+
+    @Test
+    void registersTheLiquibaseChangelogs() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("config/liquibase/master.xml")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("config/liquibase/changelog/20240921145657_added_entity_Book.xml"))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("i18n/messages.properties")).accepts(hints);
+    }
+}
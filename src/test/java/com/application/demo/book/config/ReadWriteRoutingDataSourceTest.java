@@ -0,0 +1,90 @@
+package com.application.demo.book.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for the {@link ReadWriteRoutingDataSource} class.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    private Connection primaryConnection;
+
+    private Connection replicaConnection;
+
+    private ReplicaLagMonitor lagMonitor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replica, lagMonitor, meterRegistry);
+    }
+
+    @AfterEach
+    public void teardown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void shouldUsePrimaryOutsideReadOnlyTransactions() throws SQLException {
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.CONNECTIONS_METER_NAME).tag("pool", "primary").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldUseReplicaInReadOnlyTransactions() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.CONNECTIONS_METER_NAME).tag("pool", "replica").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldUsePrimaryWhileReplicaLags() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        verify(replica, never()).getConnection();
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.FALLBACKS_METER_NAME).tag("cause", "lag").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldUsePrimaryWhenReplicaFails() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection is not available"));
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        verify(lagMonitor).markUnusable();
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.FALLBACKS_METER_NAME).tag("cause", "error").counter().count())
+            .isEqualTo(1);
+    }
+}
@@ -67,4 +67,18 @@ class SecurityMetersServiceTests {
 
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(1);
     }
+
+    @Test
+    void testTokenCacheMetersShouldBeBoundToCorrectMeters() {
+        securityMetersService.trackTokenCacheMiss();
+        securityMetersService.trackTokenDecode(1_000_000);
+        securityMetersService.trackTokenCacheHit();
+        securityMetersService.trackTokenCacheHit();
+        securityMetersService.trackTokenCacheHit();
+
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", "hit").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_HIT_RATIO_METER_NAME).gauge().value()).isEqualTo(0.75);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_DECODE_METER_NAME).timer().count()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,43 @@
+package com.application.demo.book.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails a test when the code it runs prepares more SQL statements than expected, to catch N+1 selects and the like:
+ * <pre>
+ * StatementBudget.assertStatementsAtMost(1, () -&gt; restMockMvc.perform(get("/api/book-registrations")));
+ * </pre>
+ * Only the statements of the test thread are counted, which includes the requests performed through {@code MockMvc}.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {}
+
+    /**
+     * Runs {@code work}, then fails listing the statements when there were more than {@code budget} of them.
+     *
+     * @return the statements of {@code work}, for further assertions.
+     */
+    public static StatementStatistics assertStatementsAtMost(long budget, Work work) throws Exception {
+        StatementStatistics statistics = StatementStatistics.open(true);
+        try {
+            work.run();
+        } finally {
+            statistics.close();
+        }
+        assertThat(statistics.getStatements())
+            .withFailMessage(
+                "Expected at most %d SQL statements, but %d were prepared:%n%s",
+                budget,
+                statistics.getStatements(),
+                String.join(System.lineSeparator(), statistics.getStatementsSql())
+            )
+            .isLessThanOrEqualTo(budget);
+        return statistics;
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,53 @@
+package com.application.demo.book.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link StatementStatistics} class.
+ */
+class StatementStatisticsTest {
+
+    private final StatementStatistics.Inspector inspector = new StatementStatistics.Inspector(null);
+
+    @Test
+    void countsAndTimesTheStatementsOfTheScope() {
+        StatementStatistics.prepared("select 0", Long.MAX_VALUE);
+        try (StatementStatistics statistics = StatementStatistics.open()) {
+            assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+            StatementStatistics.executed(Duration.ofMillis(3).toNanos());
+            inspector.inspect("select 2");
+            StatementStatistics.executed(Duration.ofMillis(4).toNanos());
+
+            assertThat(statistics.getStatements()).isEqualTo(2);
+            assertThat(statistics.getDatabaseTime()).isEqualTo(Duration.ofMillis(7));
+            assertThat(statistics.getStatementsSql()).isEmpty();
+        }
+    }
+
+    @Test
+    void addsANestedScopeToTheEnclosingOne() {
+        try (StatementStatistics outer = StatementStatistics.open(true)) {
+            inspector.inspect("select 1");
+            try (StatementStatistics inner = StatementStatistics.open()) {
+                inspector.inspect("select 2");
+                inspector.inspect("select 3");
+                assertThat(inner.getStatements()).isEqualTo(2);
+            }
+            inspector.inspect("select 4");
+
+            assertThat(outer.getStatements()).isEqualTo(4);
+            assertThat(outer.getStatementsSql()).containsExactly("select 1", "select 2", "select 3", "select 4");
+        }
+    }
+
+    @Test
+    void measuresNothingOutsideOfAScope() {
+        inspector.inspect("select 1");
+        try (StatementStatistics statistics = StatementStatistics.open()) {
+            assertThat(statistics.getStatements()).isZero();
+        }
+    }
+}
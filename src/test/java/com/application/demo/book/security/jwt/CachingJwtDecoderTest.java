@@ -0,0 +1,91 @@
+package com.application.demo.book.security.jwt;
+
+import static com.application.demo.book.security.SecurityUtils.JWT_ALGORITHM;
+import static com.application.demo.book.security.jwt.JwtAuthenticationTestUtils.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.application.demo.book.management.SecurityMetersService;
+import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Unit tests for the {@link CachingJwtDecoder} class.
+ */
+class CachingJwtDecoderTest {
+
+    private static final String JWT_KEY =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+
+    private CachingJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void setup() {
+        byte[] keyBytes = Base64.from(JWT_KEY).decode();
+        NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder
+            .withSecretKey(new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName()))
+            .macAlgorithm(JWT_ALGORITHM)
+            .build();
+        nimbusJwtDecoder.setJwtValidator(CachingJwtDecoder.timestampValidator());
+        meterRegistry = new SimpleMeterRegistry();
+        jwtDecoder = new CachingJwtDecoder(
+            token -> {
+                delegateCalls.incrementAndGet();
+                return nimbusJwtDecoder.decode(token);
+            },
+            new SecurityMetersService(meterRegistry),
+            100
+        );
+    }
+
+    @Test
+    void shouldDecodeTokenOnce() {
+        String token = createValidToken(JWT_KEY);
+
+        Jwt first = jwtDecoder.decode(token);
+        Jwt second = jwtDecoder.decode(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(delegateCalls).hasValue(1);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_DECODE_METER_NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldClassifyFailuresByType() throws Exception {
+        assertThatThrownBy(() -> jwtDecoder.decode(createExpiredToken(JWT_KEY))).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtDecoder.decode(createTokenWithDifferentSignature())).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtDecoder.decode(createSignedInvalidJwt(JWT_KEY))).isInstanceOf(JwtException.class);
+
+        assertThat(invalidTokens("expired")).isEqualTo(1);
+        assertThat(invalidTokens("invalid-signature")).isEqualTo(1);
+        assertThat(invalidTokens("malformed")).isEqualTo(1);
+        assertThat(invalidTokens("unsupported")).isZero();
+    }
+
+    @Test
+    void shouldNotCacheFailures() {
+        String token = createExpiredToken(JWT_KEY);
+
+        assertThatThrownBy(() -> jwtDecoder.decode(token)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtDecoder.decode(token)).isInstanceOf(JwtException.class);
+
+        assertThat(delegateCalls).hasValue(2);
+        assertThat(invalidTokens("expired")).isEqualTo(2);
+    }
+
+    private double invalidTokens(String cause) {
+        return meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count();
+    }
+}
@@ -0,0 +1,207 @@
+package com.application.demo.book.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.application.demo.book.IntegrationTest;
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.web.rest.BookResourceIT;
+import com.application.demo.book.web.rest.TestUtil;
+import jakarta.persistence.EntityManager;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link OverdueLoanNotifier} service.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class OverdueLoanNotifierIT {
+
+    private static final String STUDENT_ID = "OVERDUE-STUDENT";
+
+    private static final String BOOK_REGISTRATIONS_API_URL = "/api/book-registrations";
+
+    @Autowired
+    private OverdueLoanNotifier overdueLoanNotifier;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restBookRegistrationMockMvc;
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    private final List<SimpleMailMessage> sentMessages = new ArrayList<>();
+
+    private Book book;
+
+    @BeforeEach
+    public void initTest() {
+        doAnswer(invocation -> {
+                for (Object argument : invocation.getArguments()) {
+                    if (argument instanceof SimpleMailMessage[] messages) {
+                        sentMessages.addAll(List.of(messages));
+                    } else {
+                        sentMessages.add((SimpleMailMessage) argument);
+                    }
+                }
+                return null;
+            })
+            .when(javaMailSender)
+            .send(any(SimpleMailMessage[].class));
+        book = BookResourceIT.createEntity(em).copies(3);
+        em.persist(book);
+    }
+
+    @Test
+    void notifyOverdueLoansOnce() {
+        BookRegistration overdue = persistLoan(BookStatus.BORROW, ZonedDateTime.now().minusDays(1));
+        BookRegistration notDue = persistLoan(BookStatus.BORROW, ZonedDateTime.now().plusDays(1));
+        BookRegistration returned = persistLoan(BookStatus.RETURN, ZonedDateTime.now().minusDays(1));
+
+        overdueLoanNotifier.notifyOverdueLoans();
+
+        List<SimpleMailMessage> notices = noticesToStudent();
+        assertThat(notices).hasSize(1);
+        assertThat(notices.get(0).getSubject()).contains(book.getTitle());
+        em.clear();
+        assertThat(em.find(BookRegistration.class, overdue.getId()).getOverdueNotifiedAt()).isNotNull();
+        assertThat(em.find(BookRegistration.class, notDue.getId()).getOverdueNotifiedAt()).isNull();
+        assertThat(em.find(BookRegistration.class, returned.getId()).getOverdueNotifiedAt()).isNull();
+
+        // A loan is noticed once only
+        sentMessages.clear();
+        overdueLoanNotifier.notifyOverdueLoans();
+        assertThat(noticesToStudent()).isEmpty();
+    }
+
+    @Test
+    void retryNoticesRefusedByTheMailServer() {
+        BookRegistration overdue = persistLoan(BookStatus.BORROW, ZonedDateTime.now().minusDays(1));
+        doThrow(new MailSendException(Map.of()))
+            .when(javaMailSender)
+            .send(any(SimpleMailMessage[].class));
+
+        overdueLoanNotifier.notifyOverdueLoans();
+
+        em.clear();
+        assertThat(em.find(BookRegistration.class, overdue.getId()).getOverdueNotifiedAt()).isNull();
+    }
+
+    @Test
+    void notifyLoansBorrowedThroughTheCrudEndpoints() throws Exception {
+        ZonedDateTime requestDate = ZonedDateTime.now().minusDays(30);
+        // created as a borrowing, without a due date
+        BookRegistration created = new BookRegistration()
+            .book(book)
+            .studentId(STUDENT_ID)
+            .requestDate(requestDate)
+            .requestStatus(BookStatus.BORROW);
+        restBookRegistrationMockMvc
+            .perform(
+                post(BOOK_REGISTRATIONS_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(created))
+            )
+            .andExpect(status().isCreated());
+        // switched to a borrowing
+        BookRegistration cancelled = new BookRegistration()
+            .book(book)
+            .studentId(STUDENT_ID)
+            .requestDate(requestDate)
+            .requestStatus(BookStatus.CANCEL);
+        em.persist(cancelled);
+        em.flush();
+        BookRegistration borrowed = new BookRegistration().requestStatus(BookStatus.BORROW);
+        borrowed.setId(cancelled.getId());
+        restBookRegistrationMockMvc
+            .perform(
+                patch(BOOK_REGISTRATIONS_API_URL + "/{id}", cancelled.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(borrowed))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+
+        overdueLoanNotifier.notifyOverdueLoans();
+
+        // due one loan period after their request date
+        assertThat(noticesToStudent()).hasSize(2);
+        em.clear();
+        assertThat(em.find(BookRegistration.class, cancelled.getId()).getDueDate())
+            .isCloseTo(requestDate.plusDays(14), within(1, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void keepTheDueDateOfALoanUpdatedWithoutOne() throws Exception {
+        BookRegistration notDue = persistLoan(BookStatus.BORROW, ZonedDateTime.now().plusDays(1));
+        ZonedDateTime dueDate = notDue.getDueDate();
+        BookRegistration renewed = new BookRegistration()
+            .book(book)
+            .studentId(STUDENT_ID)
+            .requestDate(notDue.getRequestDate())
+            .requestStatus(BookStatus.BORROW)
+            .remarks("renewed");
+        renewed.setId(notDue.getId());
+        restBookRegistrationMockMvc
+            .perform(
+                put(BOOK_REGISTRATIONS_API_URL + "/{id}", notDue.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(renewed))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+
+        overdueLoanNotifier.notifyOverdueLoans();
+
+        assertThat(noticesToStudent()).isEmpty();
+        em.clear();
+        assertThat(em.find(BookRegistration.class, notDue.getId()).getDueDate()).isCloseTo(dueDate, within(1, ChronoUnit.MILLIS));
+    }
+
+    private BookRegistration persistLoan(BookStatus status, ZonedDateTime dueDate) {
+        BookRegistration bookRegistration = new BookRegistration()
+            .book(book)
+            .studentId(STUDENT_ID)
+            .requestDate(dueDate.minusDays(14))
+            .requestStatus(status)
+            .dueDate(dueDate);
+        em.persist(bookRegistration);
+        em.flush();
+        return bookRegistration;
+    }
+
+    private List<SimpleMailMessage> noticesToStudent() {
+        return sentMessages
+            .stream()
+            .filter(message -> message.getTo() != null && message.getTo()[0].startsWith(STUDENT_ID + "@"))
+            .toList();
+    }
+}
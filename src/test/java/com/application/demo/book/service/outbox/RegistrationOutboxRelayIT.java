@@ -0,0 +1,57 @@
+package com.application.demo.book.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.application.demo.book.IntegrationTest;
+import com.application.demo.book.domain.RegistrationOutboxEvent;
+import com.application.demo.book.domain.enumeration.RegistrationEventType;
+import com.application.demo.book.repository.RegistrationOutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link RegistrationOutboxRelay}.
+ */
+@IntegrationTest
+@Transactional
+class RegistrationOutboxRelayIT {
+
+    @Autowired
+    private RegistrationOutboxRelay registrationOutboxRelay;
+
+    @Autowired
+    private RegistrationOutboxEventRepository registrationOutboxEventRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void purgeOnlyTheEventsPublishedPastTheRetention() {
+        Instant longAgo = Instant.now().minus(30, ChronoUnit.DAYS);
+        RegistrationOutboxEvent expired = persistEvent(longAgo, longAgo);
+        RegistrationOutboxEvent recent = persistEvent(longAgo, Instant.now());
+        RegistrationOutboxEvent unpublished = persistEvent(longAgo, null);
+        em.flush();
+
+        assertThat(registrationOutboxRelay.purge()).isGreaterThanOrEqualTo(1);
+
+        em.clear();
+        assertThat(registrationOutboxEventRepository.findById(expired.getId())).isEmpty();
+        assertThat(registrationOutboxEventRepository.findById(recent.getId())).isPresent();
+        assertThat(registrationOutboxEventRepository.findById(unpublished.getId())).isPresent();
+    }
+
+    private RegistrationOutboxEvent persistEvent(Instant occurredAt, Instant publishedAt) {
+        RegistrationOutboxEvent event = new RegistrationOutboxEvent()
+            .eventType(RegistrationEventType.CREATED)
+            .registrationId(1L)
+            .occurredAt(occurredAt);
+        event.setPublishedAt(publishedAt);
+        em.persist(event);
+        return event;
+    }
+}
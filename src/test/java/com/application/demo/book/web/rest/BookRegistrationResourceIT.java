@@ -2,21 +2,50 @@ package com.application.demo.book.web.rest;
 
 import static com.application.demo.book.web.rest.TestUtil.sameInstant;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.application.demo.book.IntegrationTest;
+import com.application.demo.book.domain.Book;
 import com.application.demo.book.domain.BookRegistration;
+import com.application.demo.book.domain.CategoryType;
+import com.application.demo.book.domain.RegistrationOutboxEvent;
 import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.domain.enumeration.RegistrationEventType;
+import com.application.demo.book.management.StatementBudget;
+import com.application.demo.book.management.StatementMetricsInterceptor;
+import com.application.demo.book.management.StatementStatistics;
+import com.application.demo.book.repository.ArchivedBookRegistrationRepository;
+import com.application.demo.book.repository.BookRegistrationPartitionRepository;
 import com.application.demo.book.repository.BookRegistrationRepository;
+import com.application.demo.book.repository.BookRepository;
+import com.application.demo.book.service.RegistrationArchiver;
+import com.application.demo.book.service.dto.BookBorrowRequest;
+import com.application.demo.book.service.outbox.InMemoryRegistrationEventSink;
+import com.application.demo.book.service.outbox.RegistrationEventSink;
+import com.application.demo.book.service.outbox.RegistrationOutboxRelay;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +54,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -62,9 +92,30 @@ class BookRegistrationResourceIT {
     @Autowired
     private BookRegistrationRepository bookRegistrationRepository;
 
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ArchivedBookRegistrationRepository archivedBookRegistrationRepository;
+
+    @Autowired
+    private RegistrationArchiver registrationArchiver;
+
+    @Autowired
+    private BookRegistrationPartitionRepository bookRegistrationPartitionRepository;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private RegistrationOutboxRelay registrationOutboxRelay;
+
+    @Autowired
+    private RegistrationEventSink registrationEventSink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Autowired
     private MockMvc restBookRegistrationMockMvc;
 
@@ -129,6 +180,220 @@ class BookRegistrationResourceIT {
         assertThat(testBookRegistration.getRemarks()).isEqualTo(DEFAULT_REMARKS);
     }
 
+    @Test
+    @Transactional
+    void borrowAndReturnBook() throws Exception {
+        // Initialize the database with a book owning a single copy, last changed by someone else
+        Book book = BookResourceIT.createEntity(em).copies(1);
+        em.persist(book);
+        em.flush();
+        Instant lastModifiedDate = Instant.now().minusSeconds(60);
+        em
+            .createQuery("update Book book set book.lastModifiedBy = 'librarian', book.lastModifiedDate = :date where book.id = :id")
+            .setParameter("date", lastModifiedDate)
+            .setParameter("id", book.getId())
+            .executeUpdate();
+        em.clear();
+        Long version = em.find(Book.class, book.getId()).getVersion();
+
+        BookBorrowRequest request = new BookBorrowRequest();
+        request.setBookId(book.getId());
+        request.setStudentId(DEFAULT_STUDENT_ID);
+
+        MvcResult borrowed = restBookRegistrationMockMvc
+            .perform(post(ENTITY_API_URL + "/borrow").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.data.requestStatus").value(BookStatus.BORROW.toString()))
+            .andExpect(jsonPath("$.data.studentId").value(DEFAULT_STUDENT_ID))
+            .andExpect(jsonPath("$.data.dueDate").isNotEmpty())
+            .andReturn();
+        Long bookRegistrationId = ((Number) JsonPath.read(borrowed.getResponse().getContentAsString(), "$.data.id")).longValue();
+        em.flush();
+        em.clear();
+
+        // The copy is taken on the managed book: its version and audit columns follow
+        Book borrowedBook = em.find(Book.class, book.getId());
+        assertThat(borrowedBook.getAvailable()).isZero();
+        assertThat(borrowedBook.getVersion()).isGreaterThan(version);
+        assertThat(borrowedBook.getLastModifiedBy()).isEqualTo("user");
+        assertThat(borrowedBook.getLastModifiedDate()).isAfter(lastModifiedDate);
+
+        // The last copy cannot be borrowed twice
+        restBookRegistrationMockMvc
+            .perform(post(ENTITY_API_URL + "/borrow").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isBadRequest());
+        em.clear();
+        assertThat(em.find(Book.class, book.getId()).getAvailable()).isZero();
+
+        restBookRegistrationMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/return", bookRegistrationId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.requestStatus").value(BookStatus.RETURN.toString()))
+            .andExpect(jsonPath("$.data.returnDate").isNotEmpty());
+
+        // A borrowing is returned once only
+        restBookRegistrationMockMvc.perform(post(ENTITY_API_URL_ID + "/return", bookRegistrationId)).andExpect(status().isBadRequest());
+        em.clear();
+        assertThat(em.find(Book.class, book.getId()).getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void changeBorrowingThroughCrudEndpoints() throws Exception {
+        // Initialize the database with a book owning a single copy
+        Book book = BookResourceIT.createEntity(em).copies(1);
+        em.persist(book);
+        em.flush();
+
+        MvcResult created = restBookRegistrationMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(bookRegistration.book(book)))
+            )
+            .andExpect(status().isCreated())
+            .andReturn();
+        Long bookRegistrationId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.data.id")).longValue();
+        em.flush();
+        em.clear();
+        assertThat(em.find(Book.class, book.getId()).getAvailable()).isZero();
+
+        // No copy is left for another borrowing
+        restBookRegistrationMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(createEntity(em).book(book)))
+            )
+            .andExpect(status().isBadRequest());
+
+        BookRegistration cancelled = new BookRegistration().requestStatus(BookStatus.CANCEL);
+        cancelled.setId(bookRegistrationId);
+        restBookRegistrationMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, bookRegistrationId)
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(cancelled))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+        em.clear();
+        assertThat(em.find(Book.class, book.getId()).getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void returnBookConcurrently() throws Exception {
+        // Initialize the database: the requests run in their own transactions, so the rows have to be committed
+        Book book = bookRepository.saveAndFlush(BookResourceIT.createEntity(em).copies(2));
+        List<Long> bookRegistrationIds = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // One copy stays borrowed, the other one is borrowed and returned twice at the same time, again and again
+            bookRegistrationIds.add(borrowCommitted(book));
+            for (int round = 0; round < 5; round++) {
+                Long bookRegistrationId = borrowCommitted(book);
+                bookRegistrationIds.add(bookRegistrationId);
+                BookRegistration returned = new BookRegistration().requestStatus(BookStatus.RETURN);
+                returned.setId(bookRegistrationId);
+                CountDownLatch start = new CountDownLatch(1);
+                Future<MvcResult> patched = executor.submit(() -> {
+                    start.await();
+                    return restBookRegistrationMockMvc
+                        .perform(
+                            patch(ENTITY_API_URL_ID, bookRegistrationId)
+                                .with(user("user"))
+                                .contentType("application/merge-patch+json")
+                                .content(TestUtil.convertObjectToJsonBytes(returned))
+                        )
+                        .andReturn();
+                });
+                Future<MvcResult> posted = executor.submit(() -> {
+                    start.await();
+                    return restBookRegistrationMockMvc
+                        .perform(post(ENTITY_API_URL_ID + "/return", bookRegistrationId).with(user("user")))
+                        .andReturn();
+                });
+                start.countDown();
+                patched.get(10, TimeUnit.SECONDS);
+                posted.get(10, TimeUnit.SECONDS);
+
+                // The copy is put back once only
+                assertThat(bookRepository.findById(book.getId())).get().extracting(Book::getAvailable).isEqualTo(1);
+                assertThat(bookRegistrationRepository.findById(bookRegistrationId))
+                    .get()
+                    .extracting(BookRegistration::getRequestStatus)
+                    .isEqualTo(BookStatus.RETURN);
+            }
+        } finally {
+            executor.shutdownNow();
+            bookRegistrationRepository.deleteAllById(bookRegistrationIds);
+            bookRepository.deleteById(book.getId());
+        }
+    }
+
+    private Long borrowCommitted(Book book) throws Exception {
+        BookBorrowRequest request = new BookBorrowRequest();
+        request.setBookId(book.getId());
+        request.setStudentId(DEFAULT_STUDENT_ID);
+        MvcResult borrowed = restBookRegistrationMockMvc
+            .perform(post(ENTITY_API_URL + "/borrow").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isCreated())
+            .andReturn();
+        return ((Number) JsonPath.read(borrowed.getResponse().getContentAsString(), "$.data.id")).longValue();
+    }
+
+    @Test
+    @Transactional
+    void relayRegistrationChangesFromOutbox() throws Exception {
+        InMemoryRegistrationEventSink sink = (InMemoryRegistrationEventSink) registrationEventSink;
+        sink.clear();
+        Book book = BookResourceIT.createEntity(em).copies(1);
+        em.persist(book);
+        em.flush();
+
+        BookBorrowRequest request = new BookBorrowRequest();
+        request.setBookId(book.getId());
+        request.setStudentId(DEFAULT_STUDENT_ID);
+        MvcResult borrowed = restBookRegistrationMockMvc
+            .perform(post(ENTITY_API_URL + "/borrow").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isCreated())
+            .andReturn();
+        Long bookRegistrationId = ((Number) JsonPath.read(borrowed.getResponse().getContentAsString(), "$.data.id")).longValue();
+        restBookRegistrationMockMvc.perform(post(ENTITY_API_URL_ID + "/return", bookRegistrationId)).andExpect(status().isOk());
+        em.flush();
+
+        assertThat(registrationOutboxRelay.relay()).isGreaterThanOrEqualTo(2);
+        List<RegistrationOutboxEvent> events = sink
+            .getEvents()
+            .stream()
+            .filter(event -> bookRegistrationId.equals(event.getRegistrationId()))
+            .toList();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getEventType()).isEqualTo(RegistrationEventType.CREATED);
+        assertThat(events.get(0).getStatus()).isEqualTo(BookStatus.BORROW);
+        assertThat(events.get(0).getBookId()).isEqualTo(book.getId());
+        assertThat(events.get(1).getEventType()).isEqualTo(RegistrationEventType.UPDATED);
+        assertThat(events.get(1).getPreviousStatus()).isEqualTo(BookStatus.BORROW);
+        assertThat(events.get(1).getStatus()).isEqualTo(BookStatus.RETURN);
+
+        // Published events are not sent again
+        sink.clear();
+        registrationOutboxRelay.relay();
+        assertThat(sink.getEvents()).noneMatch(event -> bookRegistrationId.equals(event.getRegistrationId()));
+    }
+
+    @Test
+    @Transactional
+    void borrowNonExistingBook() throws Exception {
+        BookBorrowRequest request = new BookBorrowRequest();
+        request.setBookId(Long.MAX_VALUE);
+        request.setStudentId(DEFAULT_STUDENT_ID);
+
+        restBookRegistrationMockMvc
+            .perform(post(ENTITY_API_URL + "/borrow").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void createBookRegistrationWithExistingId() throws Exception {
@@ -169,6 +434,226 @@ class BookRegistrationResourceIT {
             .andExpect(jsonPath("$.[*].remarks").value(hasItem(DEFAULT_REMARKS)));
     }
 
+    @Test
+    @Transactional
+    void getAllBookRegistrationsWithBooksInOneStatement() throws Exception {
+        // Initialize the database with registrations of different books, then forget them so that nothing is loaded yet
+        CategoryType categoryType = CategoryTypeResourceIT.createEntity(em);
+        em.persist(categoryType);
+        for (int i = 0; i < 3; i++) {
+            Book book = BookResourceIT.createEntity(em).categoryType(categoryType);
+            em.persist(book);
+            em.persist(createEntity(em).book(book));
+        }
+        em.flush();
+        em.clear();
+
+        StatementStatistics statistics = StatementBudget.assertStatementsAtMost(
+            1,
+            () ->
+                restBookRegistrationMockMvc
+                    .perform(get(ENTITY_API_URL))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[*].book.categoryType.title").value(hasItem(categoryType.getTitle())))
+        );
+        assertThat(statistics.getStatements()).isEqualTo(1);
+        assertThat(
+            meterRegistry
+                .get(StatementMetricsInterceptor.STATEMENTS_METER_NAME)
+                .tag("controller", BookRegistrationResource.class.getSimpleName())
+                .tag("method", "getAllBookRegistrations")
+                .summary()
+                .count()
+        )
+            .isPositive();
+    }
+
+    @Test
+    @Transactional
+    void getAllBookRegistrationsWithFields() throws Exception {
+        // Initialize the database
+        Book book = BookResourceIT.createEntity(em);
+        em.persist(book);
+        bookRegistrationRepository.saveAndFlush(bookRegistration.book(book));
+
+        // Only the selected fields are returned, the ones of the book nested as in the full representation
+        restBookRegistrationMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=requestStatus,book.title&from={from}", DEFAULT_REQUEST_DATE.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[*].id").value(hasItem(bookRegistration.getId().intValue())))
+            .andExpect(jsonPath("$.data[*].requestStatus").value(hasItem(DEFAULT_REQUEST_STATUS.toString())))
+            .andExpect(jsonPath("$.data[*].book.title").value(hasItem(book.getTitle())))
+            .andExpect(jsonPath("$.data[0].remarks").doesNotExist())
+            .andExpect(jsonPath("$.data[0].book.author").doesNotExist());
+
+        restBookRegistrationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=studentId", bookRegistration.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.studentId").value(DEFAULT_STUDENT_ID))
+            .andExpect(jsonPath("$.data.requestDate").doesNotExist());
+
+        restBookRegistrationMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=studentId&from={from}&includeArchived=true", DEFAULT_REQUEST_DATE.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void createPartitionOverRegistrationsOfTheDefaultPartition() {
+        // Initialize the database with a registration older than the monthly partitions
+        YearMonth month = YearMonth.of(2000, 1);
+        bookRegistrationRepository.saveAndFlush(bookRegistration.requestDate(ZonedDateTime.of(2000, 1, 15, 0, 0, 0, 0, ZoneOffset.UTC)));
+
+        assertThat(bookRegistrationPartitionRepository.createMonthlyPartition(month)).isEqualTo(1);
+
+        assertThat(bookRegistrationPartitionRepository.findMonthlyPartitions()).contains(month);
+        em.clear();
+        assertThat(bookRegistrationRepository.findById(bookRegistration.getId())).isPresent();
+    }
+
+    @Test
+    @Transactional
+    void dropOnlyEmptyPartitions() {
+        // Initialize the database with a registration in the partition of a month, and none in the next one
+        YearMonth month = YearMonth.of(2000, 2);
+        bookRegistrationPartitionRepository.createMonthlyPartition(month);
+        bookRegistrationPartitionRepository.createMonthlyPartition(month.plusMonths(1));
+        bookRegistrationRepository.saveAndFlush(bookRegistration.requestDate(ZonedDateTime.of(2000, 2, 15, 0, 0, 0, 0, ZoneOffset.UTC)));
+
+        assertThat(bookRegistrationPartitionRepository.dropMonthlyPartitionIfEmpty(month)).isFalse();
+        assertThat(bookRegistrationPartitionRepository.dropMonthlyPartitionIfEmpty(month.plusMonths(1))).isTrue();
+
+        assertThat(bookRegistrationPartitionRepository.findMonthlyPartitions()).contains(month).doesNotContain(month.plusMonths(1));
+        em.clear();
+        assertThat(bookRegistrationRepository.findById(bookRegistration.getId())).isPresent();
+    }
+
+    @Test
+    @Transactional
+    void getArchivedBookRegistrations() throws Exception {
+        // Initialize the database with a registration closed two years ago and a recent open one
+        ZonedDateTime requestDate = ZonedDateTime.now(ZoneOffset.UTC).minusYears(2).withNano(0);
+        BookRegistration closed = bookRegistrationRepository.saveAndFlush(
+            createEntity(em).requestDate(requestDate).requestStatus(BookStatus.RETURN)
+        );
+        BookRegistration open = bookRegistrationRepository.saveAndFlush(createEntity(em).requestDate(UPDATED_REQUEST_DATE));
+
+        assertThat(registrationArchiver.archive()).isGreaterThanOrEqualTo(1);
+        assertThat(bookRegistrationRepository.findById(closed.getId())).isEmpty();
+        assertThat(archivedBookRegistrationRepository.findById(closed.getId())).isPresent();
+        assertThat(bookRegistrationRepository.findById(open.getId())).isPresent();
+
+        // The archived registration is only returned on request
+        restBookRegistrationMockMvc.perform(get(ENTITY_API_URL_ID, closed.getId())).andExpect(jsonPath("$.data").isEmpty());
+        restBookRegistrationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?includeArchived=true", closed.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.id").value(closed.getId().intValue()))
+            .andExpect(jsonPath("$.data.archived").value(true));
+
+        String from = requestDate.minusDays(1).toString();
+        restBookRegistrationMockMvc
+            .perform(get(ENTITY_API_URL + "?from={from}&includeArchived=true", from))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[*].id").value(hasItem(closed.getId().intValue())))
+            .andExpect(jsonPath("$.data[*].id").value(hasItem(open.getId().intValue())));
+        restBookRegistrationMockMvc
+            .perform(get(ENTITY_API_URL + "?from={from}&to={to}", from, requestDate.plusDays(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[*].id").value(not(hasItem(closed.getId().intValue()))));
+        restBookRegistrationMockMvc.perform(get(ENTITY_API_URL + "?includeArchived=true")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportBookRegistrations() throws Exception {
+        // Initialize the database: the export reads in its own transaction, so the row has to be committed
+        bookRegistrationRepository.saveAndFlush(bookRegistration.dueDate(ZonedDateTime.now().plusDays(14)));
+
+        try {
+            MvcResult ndjson = restBookRegistrationMockMvc
+                .perform(get(ENTITY_API_URL + "/_export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restBookRegistrationMockMvc
+                .perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("{\"id\":" + bookRegistration.getId() + ",")))
+                .andExpect(content().string(containsString("\"studentId\":\"" + DEFAULT_STUDENT_ID + "\"")));
+
+            MvcResult csv = restBookRegistrationMockMvc
+                .perform(get(ENTITY_API_URL + "/_export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restBookRegistrationMockMvc
+                .perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("id,studentId,requestDate,requestStatus,returnDate,remarks,bookId,dueDate\n")))
+                .andExpect(content().string(containsString("\n" + bookRegistration.getId() + "," + DEFAULT_STUDENT_ID + ",")))
+                // the due date closes the row
+                .andExpect(
+                    content().string(matchesRegex("(?s).*\n" + bookRegistration.getId() + ",[^\n]*,\\d{4}-\\d{2}-\\d{2}T[^,\n]+\n.*"))
+                );
+        } finally {
+            bookRegistrationRepository.deleteById(bookRegistration.getId());
+        }
+    }
+
+    @Test
+    void exportArchivedBookRegistrations() throws Exception {
+        // Initialize the database with a committed registration closed two years ago, archived
+        BookRegistration closed = bookRegistrationRepository.saveAndFlush(
+            createEntity(em).requestDate(ZonedDateTime.now(ZoneOffset.UTC).minusYears(2)).requestStatus(BookStatus.RETURN)
+        );
+        bookRegistrationRepository.saveAndFlush(bookRegistration);
+
+        try {
+            registrationArchiver.archive();
+            assertThat(archivedBookRegistrationRepository.findById(closed.getId())).isPresent();
+
+            MvcResult withoutArchive = restBookRegistrationMockMvc
+                .perform(get(ENTITY_API_URL + "/_export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restBookRegistrationMockMvc
+                .perform(asyncDispatch(withoutArchive))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\n" + bookRegistration.getId() + ",")))
+                .andExpect(content().string(not(containsString("\n" + closed.getId() + ","))));
+
+            // The archived rows come after the live ones, with their archival time
+            String header = "id,studentId,requestDate,requestStatus,returnDate,remarks,bookId,dueDate,archivedAt\n";
+            String rows = "(?s).*\n" + bookRegistration.getId() + ",[^\n]*,\n.*\n" + closed.getId() + ",[^\n]*,\\d{4}-[^,\n]+\n.*";
+            MvcResult csv = restBookRegistrationMockMvc
+                .perform(get(ENTITY_API_URL + "/_export?format=csv&includeArchived=true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restBookRegistrationMockMvc
+                .perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith(header)))
+                .andExpect(content().string(matchesRegex(rows)));
+
+            MvcResult ndjson = restBookRegistrationMockMvc
+                .perform(get(ENTITY_API_URL + "/_export?includeArchived=true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restBookRegistrationMockMvc
+                .perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("{\"id\":" + closed.getId() + ",")))
+                .andExpect(content().string(containsString("\"archivedAt\":")));
+        } finally {
+            bookRegistrationRepository.deleteById(bookRegistration.getId());
+            archivedBookRegistrationRepository.deleteById(closed.getId());
+        }
+    }
+
+    @Test
+    void exportBookRegistrationsWithUnknownFormat() throws Exception {
+        restBookRegistrationMockMvc.perform(get(ENTITY_API_URL + "/_export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getBookRegistration() throws Exception {
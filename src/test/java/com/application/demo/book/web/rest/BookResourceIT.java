@@ -2,13 +2,23 @@ package com.application.demo.book.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.application.demo.book.IntegrationTest;
 import com.application.demo.book.domain.Book;
 import com.application.demo.book.repository.BookRepository;
+import com.application.demo.book.service.dto.BookAvailabilityDTO;
+import com.application.demo.book.web.sse.BookAvailabilityBroadcaster;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -16,9 +26,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -53,6 +65,9 @@ class BookResourceIT {
     @Autowired
     private MockMvc restBookMockMvc;
 
+    @Autowired
+    private BookAvailabilityBroadcaster bookAvailabilityBroadcaster;
+
     private Book book;
 
     /**
@@ -118,6 +133,63 @@ class BookResourceIT {
         assertThat(bookList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void bulkSaveBooks() throws Exception {
+        // Initialize the database: the bulk endpoint commits its own chunks, so the rows are cleaned up afterwards
+        Book existingBook = bookRepository.saveAndFlush(book);
+        Book updatedBook = createUpdatedEntity(em).id(existingBook.getId());
+        Book newBook = createEntity(em);
+        Book invalidBook = createEntity(em).title(null);
+        Book missingBook = createEntity(em).id(Long.MAX_VALUE);
+
+        List<Long> createdIds = new ArrayList<>();
+        try {
+            String response = restBookMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(List.of(updatedBook, newBook, invalidBook, missingBook)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.data[1].status").value("CREATED"))
+                .andExpect(jsonPath("$.data[1].id").isNumber())
+                .andExpect(jsonPath("$.data[2].status").value("INVALID"))
+                .andExpect(jsonPath("$.data[3].status").value("NOT_FOUND"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            createdIds.addAll(createdIds(response));
+
+            assertThat(bookRepository.findById(existingBook.getId())).get().extracting(Book::getTitle).isEqualTo(UPDATED_TITLE);
+
+            response =
+                restBookMockMvc
+                    .perform(
+                        post(ENTITY_API_URL + "/_bulk")
+                            .contentType("application/x-ndjson")
+                            .content("{\"author\":\"a\",\"title\":\"t1\"}\n{\"author\":\"a\",\"title\":\"t2\"}\n{not json\n")
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$.data[1].status").value("CREATED"))
+                    .andExpect(jsonPath("$.data[2].status").value("FAILED"))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            createdIds.addAll(createdIds(response));
+        } finally {
+            // only the rows of this test: other books may share its authors
+            createdIds.add(existingBook.getId());
+            bookRepository.deleteAll(bookRepository.findAllById(createdIds));
+        }
+    }
+
+    private static List<Long> createdIds(String bulkResponse) {
+        List<Number> ids = JsonPath.read(bulkResponse, "$.data[?(@.status == 'CREATED')].id");
+        return ids.stream().map(Number::longValue).toList();
+    }
+
     @Test
     @Transactional
     void checkAuthorIsRequired() throws Exception {
@@ -169,6 +241,98 @@ class BookResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)));
     }
 
+    @Test
+    @Transactional
+    void getAllBooksByKeyset() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+        Book other = bookRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // The first page stops after the first book and points at it
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL + "?limit=1&after={after}", book.getId() - 1))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.data.content[0].id").value(book.getId().intValue()))
+            .andExpect(jsonPath("$.data.nextCursor").value(book.getId().intValue()));
+
+        // The author filter only keeps the matching prefix
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL + "?after={after}&author=bbb", book.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.content[*].id").value(hasItem(other.getId().intValue())))
+            .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllBooksWithFields() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+
+        // Only the selected fields are returned, with the id
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=title"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[*].id").value(hasItem(book.getId().intValue())))
+            .andExpect(jsonPath("$.data[*].title").value(hasItem(DEFAULT_TITLE)))
+            .andExpect(jsonPath("$.data[0].author").doesNotExist())
+            .andExpect(jsonPath("$.data[0].description").doesNotExist());
+
+        // A keyset page of selected fields, the category type being missing
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL + "?limit=1&after={after}&fields=title,categoryType", book.getId() - 1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.content[0].id").value(book.getId().intValue()))
+            .andExpect(jsonPath("$.data.content[0].title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.data.content[0].categoryType").isEmpty())
+            .andExpect(jsonPath("$.data.nextCursor").value(book.getId().intValue()));
+
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=author", book.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.author").value(DEFAULT_AUTHOR))
+            .andExpect(jsonPath("$.data.title").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllBooksWithUnknownFields() throws Exception {
+        restBookMockMvc.perform(get(ENTITY_API_URL + "?fields=title,isbn")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllBooksWithInvalidLimit() throws Exception {
+        restBookMockMvc.perform(get(ENTITY_API_URL + "?limit=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void searchBooks() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book.title("Designing Distributed Systems").author("Brendan Burns"));
+
+        // A prefix of a title word matches, ranked first
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("q", "distrib burns"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.data[0].id").value(book.getId().intValue()));
+
+        // A prefix of a description word does not
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=aaaa"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[*].id").value(not(hasItem(book.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void searchBooksWithoutTerms() throws Exception {
+        restBookMockMvc.perform(get(ENTITY_API_URL + "/_search").param("q", " - ")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getBook() throws Exception {
@@ -186,6 +350,103 @@ class BookResourceIT {
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION));
     }
 
+    @Test
+    @Transactional
+    void getBookAsSmileAndCbor() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+
+        String jsonETag = restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, book.getId()).accept(MediaType.APPLICATION_JSON))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // Binary representations are only sent on request, with the same content as the JSON one, and the same weak tag
+        for (ObjectMapper binaryMapper : List.of(new SmileMapper(), new CBORMapper())) {
+            MediaType mediaType = MediaType.parseMediaType(
+                binaryMapper instanceof SmileMapper ? "application/x-jackson-smile" : MediaType.APPLICATION_CBOR_VALUE
+            );
+            MvcResult result = restBookMockMvc
+                .perform(get(ENTITY_API_URL_ID, book.getId()).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonETag))
+                .andReturn();
+            JsonNode data = binaryMapper.readTree(result.getResponse().getContentAsByteArray()).get("data");
+            assertThat(data.get("id").asLong()).isEqualTo(book.getId());
+            assertThat(data.get("title").asText()).isEqualTo(DEFAULT_TITLE);
+
+            restBookMockMvc
+                .perform(get(ENTITY_API_URL_ID, book.getId()).accept(mediaType).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isNotModified());
+        }
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, book.getId()).accept(MediaType.ALL))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @Transactional
+    void getBookConditionally() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+
+        String eTag = restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, book.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // Unchanged book: no body
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, book.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Changing the copies bumps the version
+        Book partialUpdatedBook = new Book();
+        partialUpdatedBook.setId(book.getId());
+        partialUpdatedBook.copies(2);
+        restBookMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedBook.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedBook))
+            )
+            .andExpect(status().isOk());
+
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, book.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.data.copies").value(2));
+    }
+
+    @Test
+    void streamBookAvailability() throws Exception {
+        MvcResult result = restBookMockMvc
+            .perform(get(ENTITY_API_URL + "/availability/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // the test task executor is synchronous: the events are written right away
+        bookAvailabilityBroadcaster.onAvailabilityChanged(new BookAvailabilityDTO(42L, 3, 2, 5L));
+        bookAvailabilityBroadcaster.heartbeat();
+
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(result.getResponse().getContentAsString())
+            .contains("event:" + BookAvailabilityBroadcaster.EVENT_NAME)
+            .contains("id:5\nevent:" + BookAvailabilityBroadcaster.EVENT_NAME)
+            .contains("{\"bookId\":42,\"copies\":3,\"available\":2,\"version\":5}")
+            .contains(":heartbeat");
+        result.getRequest().getAsyncContext().complete();
+    }
+
     @Test
     @Transactional
     void getNonExistingBook() throws Exception {
@@ -311,6 +572,38 @@ class BookResourceIT {
         assertThat(testBook.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
     }
 
+    @Test
+    @Transactional
+    void changeBookCopiesWithPatch() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+
+        Book partialUpdatedBook = new Book();
+        partialUpdatedBook.setId(book.getId());
+        partialUpdatedBook.copies(3);
+
+        restBookMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedBook.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedBook))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.copies").value(3))
+            .andExpect(jsonPath("$.data.available").value(3));
+
+        // Copies cannot go below zero
+        partialUpdatedBook.copies(-1);
+        restBookMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedBook.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedBook))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.copiesinvalid"));
+    }
+
     @Test
     @Transactional
     void fullUpdateBookWithPatch() throws Exception {
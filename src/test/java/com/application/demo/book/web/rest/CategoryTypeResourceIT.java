@@ -16,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -163,6 +164,25 @@ class CategoryTypeResourceIT {
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION));
     }
 
+    @Test
+    @Transactional
+    void getCategoryTypeConditionally() throws Exception {
+        // Initialize the database
+        categoryTypeRepository.saveAndFlush(categoryType);
+
+        String eTag = restCategoryTypeMockMvc
+            .perform(get(ENTITY_API_URL_ID, categoryType.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restCategoryTypeMockMvc
+            .perform(get(ENTITY_API_URL_ID, categoryType.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     @Transactional
     void getNonExistingCategoryType() throws Exception {
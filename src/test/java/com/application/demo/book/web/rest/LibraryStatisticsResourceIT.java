@@ -0,0 +1,112 @@
+package com.application.demo.book.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.application.demo.book.IntegrationTest;
+import com.application.demo.book.domain.Book;
+import com.application.demo.book.domain.CategoryType;
+import com.application.demo.book.domain.enumeration.BookStatus;
+import com.application.demo.book.service.RegistrationStatisticsService;
+import com.application.demo.book.service.dto.BookBorrowRequest;
+import com.application.demo.book.service.dto.LibraryStatisticsDTO;
+import com.application.demo.book.service.outbox.RegistrationOutboxRelay;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link LibraryStatisticsResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class LibraryStatisticsResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/stats";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private RegistrationOutboxRelay registrationOutboxRelay;
+
+    @Autowired
+    private RegistrationStatisticsService registrationStatisticsService;
+
+    @Autowired
+    private MockMvc restLibraryStatisticsMockMvc;
+
+    @Test
+    @Transactional
+    void getStatisticsAfterBorrowAndReturn() throws Exception {
+        CategoryType categoryType = CategoryTypeResourceIT.createEntity(em);
+        em.persist(categoryType);
+        Book book = BookResourceIT.createEntity(em).copies(2).categoryType(categoryType);
+        em.persist(book);
+        em.flush();
+        registrationOutboxRelay.relay();
+        LibraryStatisticsDTO before = registrationStatisticsService.getStatistics(1);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        BookBorrowRequest request = new BookBorrowRequest();
+        request.setBookId(book.getId());
+        request.setStudentId("AAAAAAAAAA");
+        MvcResult borrowed = restLibraryStatisticsMockMvc
+            .perform(
+                post("/api/book-registrations/borrow")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(request))
+            )
+            .andExpect(status().isCreated())
+            .andReturn();
+        Long bookRegistrationId = ((Number) JsonPath.read(borrowed.getResponse().getContentAsString(), "$.data.id")).longValue();
+        em.flush();
+        registrationOutboxRelay.relay();
+
+        restLibraryStatisticsMockMvc
+            .perform(get(ENTITY_API_URL + "?days=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.data.registrationsByStatus.BORROW").value(before.getRegistrationsByStatus().get(BookStatus.BORROW) + 1))
+            .andExpect(jsonPath("$.data.registrationsByCategoryType.[*].categoryTypeId").value(hasItem(categoryType.getId().intValue())))
+            .andExpect(jsonPath("$.data.borrowsPerDay['" + today + "']").value(before.getBorrowsPerDay().get(today) + 1));
+
+        restLibraryStatisticsMockMvc
+            .perform(post("/api/book-registrations/{id}/return", bookRegistrationId))
+            .andExpect(status().isOk());
+        em.flush();
+        registrationOutboxRelay.relay();
+
+        LibraryStatisticsDTO after = registrationStatisticsService.getStatistics(1);
+        assertThat(after.getRegistrationsByStatus().get(BookStatus.BORROW))
+            .isEqualTo(before.getRegistrationsByStatus().get(BookStatus.BORROW));
+        assertThat(after.getRegistrationsByStatus().get(BookStatus.RETURN))
+            .isEqualTo(before.getRegistrationsByStatus().get(BookStatus.RETURN) + 1);
+        assertThat(after.getBorrowsPerDay().get(today)).isEqualTo(before.getBorrowsPerDay().get(today) + 1);
+        assertThat(after.getRegistrationsByCategoryType())
+            .filteredOn(statistics -> categoryType.getId().equals(statistics.getCategoryTypeId()))
+            .singleElement()
+            .satisfies(statistics -> {
+                assertThat(statistics.getTitle()).isEqualTo(categoryType.getTitle());
+                assertThat(statistics.getRegistrations()).isEqualTo(1);
+            });
+    }
+
+    @Test
+    void getStatisticsWithInvalidDays() throws Exception {
+        restLibraryStatisticsMockMvc.perform(get(ENTITY_API_URL + "?days=0")).andExpect(status().isBadRequest());
+        restLibraryStatisticsMockMvc.perform(get(ENTITY_API_URL + "?days=367")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,64 @@
+package com.application.demo.book.web.rest.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link BaseResponseSerializer}.
+ */
+class BaseResponseSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void writesTheEnvelopeFields() throws Exception {
+        BaseResponse<List<String>> response = new BaseResponse<>(true, "Inquiry successfully.", List.of("a", "b"));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+
+        assertThat(json.fieldNames()).toIterable().containsExactly("status", "message", "timeStamp", "data");
+        assertThat(json.get("status").asBoolean()).isTrue();
+        assertThat(json.get("message").asText()).isEqualTo("Inquiry successfully.");
+        assertThat(json.get("timeStamp").asText())
+            .isEqualTo(response.getTimeStamp().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        assertThat(json.get("data").get(1).asText()).isEqualTo("b");
+    }
+
+    @Test
+    void writesNulls() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(new BaseResponse<>(null, null, null)));
+
+        assertThat(json.get("status").isNull()).isTrue();
+        assertThat(json.get("message").isNull()).isTrue();
+        assertThat(json.get("data").isNull()).isTrue();
+    }
+
+    @Test
+    void formatsTheTimeStampOncePerSecond() {
+        // an hour ahead, so that the time stamps written by the other tests cannot replace the cached one
+        long now = (System.currentTimeMillis() / 1_000 + 3_600) * 1_000 + 250;
+        String expected = LocalDateTime
+            .ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault())
+            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        assertThat(BaseResponseSerializer.timeStamp(now + 500)).isSameAs(BaseResponseSerializer.timeStamp(now));
+        assertThat(BaseResponseSerializer.timeStamp(now).getValue()).isEqualTo(expected);
+        // a response of an earlier second still gets its own time stamp
+        assertThat(BaseResponseSerializer.timeStamp(now - 1_000).getValue()).isNotEqualTo(expected);
+        assertThat(BaseResponseSerializer.timeStamp(now + 1_000).getValue()).isNotEqualTo(expected);
+    }
+
+    @Test
+    void reusesTheEncodedMessages() {
+        assertThat(BaseResponseSerializer.message("Created successfully.")).isSameAs(BaseResponseSerializer.message("Created successfully."));
+    }
+}
@@ -0,0 +1,138 @@
+package com.application.demo.book.web.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.application.demo.book.config.ApplicationProperties;
+import com.application.demo.book.service.dto.BookAvailabilityDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Unit tests for the {@link BookAvailabilityBroadcaster} class.
+ */
+class BookAvailabilityBroadcasterTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BookAvailabilityBroadcaster broadcaster;
+
+    @BeforeEach
+    public void setup() {
+        // a single sender thread, for a client not reading to hold it
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getAvailabilityStream().setSendTimeout(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new BookAvailabilityBroadcaster(executor, properties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void endsTheStreamOfAClientNotReading() throws Exception {
+        ClientEmitter notReading = new ClientEmitter(true);
+        ClientEmitter reading = new ClientEmitter(false);
+        broadcaster.subscribe(notReading);
+        broadcaster.subscribe(reading);
+
+        broadcaster.onAvailabilityChanged(new BookAvailabilityDTO(42L, 3, 2, 1L));
+        assertThat(notReading.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        // queued behind the blocked write
+        broadcaster.onAvailabilityChanged(new BookAvailabilityDTO(43L, 3, 2, 1L));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!reading.received.await(50, TimeUnit.MILLISECONDS)) {
+            assertThat(System.nanoTime()).as("the reading client gets the change").isLessThan(deadline);
+            broadcaster.heartbeat();
+        }
+
+        assertThat(notReading.interrupted).isTrue();
+        assertThat(meterRegistry.get(BookAvailabilityBroadcaster.SUBSCRIBERS_METER_NAME).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void sendsTheLatestVersionOfABookReceivedOutOfOrder() {
+        List<Runnable> drains = new ArrayList<>();
+        BookAvailabilityBroadcaster queuedBroadcaster = new BookAvailabilityBroadcaster(
+            drains::add,
+            new ApplicationProperties(),
+            new SimpleMeterRegistry()
+        );
+        ClientEmitter reading = new ClientEmitter(false);
+        queuedBroadcaster.subscribe(reading);
+
+        // the commit of version 2 is heard before the one of version 1
+        queuedBroadcaster.onAvailabilityChanged(new BookAvailabilityDTO(42L, 3, 1, 2L));
+        queuedBroadcaster.onAvailabilityChanged(new BookAvailabilityDTO(42L, 3, 2, 1L));
+        drains.forEach(Runnable::run);
+
+        assertThat(reading.changes).singleElement().extracting(BookAvailabilityDTO::getVersion).isEqualTo(2L);
+    }
+
+    /**
+     * An emitter writing to a client, which blocks from the first event on when the client does not read.
+     */
+    private static class ClientEmitter extends SseEmitter {
+
+        private final boolean notReading;
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        private final List<BookAvailabilityDTO> changes = new CopyOnWriteArrayList<>();
+
+        private volatile boolean interrupted;
+
+        private boolean connected;
+
+        ClientEmitter(boolean notReading) {
+            this.notReading = notReading;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (!connected) {
+                connected = true;
+                return;
+            }
+            if (notReading) {
+                blocked.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    throw new InterruptedIOException("Write interrupted");
+                }
+            }
+            for (DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof BookAvailabilityDTO availability) {
+                    changes.add(availability);
+                    if (availability.getBookId() == 43L) {
+                        received.countDown();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+// Load test of the book endpoints, to compare the platform and the virtual thread request modes.
+//
+// Start the application twice, with and without application.virtual-threads.enabled=true, and run against each:
+//   k6 run -e BASE_URL=http://localhost:8081 -e TOKEN=<jwt> -e VUS=400 src/test/k6/books-load-test.js
+// then compare the http_reqs rate and the http_req_duration percentiles of the two summaries.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8081';
+const params = { headers: { Authorization: `Bearer ${__ENV.TOKEN}` } };
+
+export const options = {
+  scenarios: {
+    books: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 400),
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  const page = http.get(`${baseUrl}/api/books?limit=20&after=${Math.floor(Math.random() * 1000)}`, params);
+  check(page, { 'page is 200': r => r.status === 200 });
+
+  const search = http.get(`${baseUrl}/api/books/_search?q=the&limit=20`, params);
+  check(search, { 'search is 200': r => r.status === 200 });
+}